@@ -0,0 +1,58 @@
+package io.jenkins.plugins.benchmarks;
+
+import io.jenkins.plugins.services.DatastoreService;
+import io.jenkins.plugins.services.PrepareDatastoreService;
+import org.elasticsearch.client.Client;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.utilities.ServiceLocatorUtilities;
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import javax.inject.Singleton;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * <p>Embedded Elasticsearch populated with plugin data, shared by the benchmarks of a trial</p>
+ *
+ * <p>Services are bound and populated the same way as in <code>DatastoreServiceIntegrationTest</code>, so the data
+ * comes from <code>DATA_FILE_URL</code> when it's set.</p>
+ */
+@State(Scope.Benchmark)
+public class DatastoreState {
+
+  private ServiceLocator locator;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    final ScheduledExecutorService mockScheduledExecutorService = Mockito.mock(ScheduledExecutorService.class);
+    locator = ServiceLocatorUtilities.bind(
+      new io.jenkins.plugins.datastore.Binder(),
+      new io.jenkins.plugins.services.Binder(),
+      new AbstractBinder() {
+        @Override
+        protected void configure() {
+          bind(mockScheduledExecutorService.getClass()).to(ScheduledExecutorService.class).in(Singleton.class);
+        }
+      });
+    locator.getService(PrepareDatastoreService.class).populateDataStore();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    locator.shutdown();
+  }
+
+  public DatastoreService getDatastoreService() {
+    return locator.getService(DatastoreService.class);
+  }
+
+  public Client getClient() {
+    return locator.getService(Client.class);
+  }
+
+}
@@ -0,0 +1,71 @@
+package io.jenkins.plugins.benchmarks;
+
+import io.jenkins.plugins.models.Plugins;
+import io.jenkins.plugins.models.RawPlugins;
+import io.jenkins.plugins.services.SearchOptions;
+import io.jenkins.plugins.services.SortBy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Searches against the embedded datastore for each <code>SortBy</code> combined with each kind of filter</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchBenchmark {
+
+  public enum Filter {
+    NONE,
+    QUERY,
+    CATEGORY,
+    LABEL,
+    MAINTAINER,
+    CORE,
+    ALL
+  }
+
+  @Param
+  private SortBy sortBy;
+
+  @Param
+  private Filter filter;
+
+  private SearchOptions searchOptions;
+
+  @Setup
+  public void setup() {
+    final SearchOptions.Builder builder = new SearchOptions.Builder().withSortBy(sortBy);
+    if (filter == Filter.QUERY || filter == Filter.ALL) {
+      builder.withQuery("git");
+    }
+    if (filter == Filter.CATEGORY || filter == Filter.ALL) {
+      builder.withCategories("scm");
+    }
+    if (filter == Filter.LABEL || filter == Filter.ALL) {
+      builder.withLabels("scm");
+    }
+    if (filter == Filter.MAINTAINER || filter == Filter.ALL) {
+      builder.withMaintainers("Kohsuke Kawaguchi");
+    }
+    if (filter == Filter.CORE || filter == Filter.ALL) {
+      builder.withCore("1.505");
+    }
+    searchOptions = builder.build();
+  }
+
+  @Benchmark
+  public Plugins search(DatastoreState datastore) {
+    return datastore.getDatastoreService().search(searchOptions);
+  }
+
+  @Benchmark
+  public RawPlugins searchRaw(DatastoreState datastore) {
+    return datastore.getDatastoreService().searchRaw(searchOptions);
+  }
+
+}
@@ -0,0 +1,53 @@
+package io.jenkins.plugins.benchmarks;
+
+import io.jenkins.plugins.commons.JsonObjectMapper;
+import io.jenkins.plugins.models.Plugins;
+import io.jenkins.plugins.models.RawPlugins;
+import io.jenkins.plugins.services.SearchOptions;
+import io.jenkins.plugins.web.RawPluginsMessageBodyWriter;
+import org.apache.commons.io.output.ByteArrayOutputStream;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Writes a page of search results as JSON, either by serializing <code>Plugins</code> with Jackson or by splicing
+ * the stored sources with <code>RawPluginsMessageBodyWriter</code></p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+  @Param({"10", "50", "200"})
+  private int limit;
+
+  private Plugins plugins;
+  private RawPlugins rawPlugins;
+  private RawPluginsMessageBodyWriter rawPluginsWriter;
+
+  @Setup
+  public void setup(DatastoreState datastore) {
+    final SearchOptions searchOptions = new SearchOptions.Builder().withLimit(limit).build();
+    plugins = datastore.getDatastoreService().search(searchOptions);
+    rawPlugins = datastore.getDatastoreService().searchRaw(searchOptions);
+    rawPluginsWriter = new RawPluginsMessageBodyWriter();
+  }
+
+  @Benchmark
+  public byte[] plugins() throws IOException {
+    return JsonObjectMapper.getObjectMapper().writeValueAsBytes(plugins);
+  }
+
+  @Benchmark
+  public byte[] rawPlugins() throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    rawPluginsWriter.writeTo(rawPlugins, RawPlugins.class, RawPlugins.class, null, null, null, output);
+    return output.toByteArray();
+  }
+
+}
@@ -0,0 +1,49 @@
+package io.jenkins.plugins.benchmarks;
+
+import io.jenkins.plugins.datastore.ElasticsearchTransformer;
+import io.jenkins.plugins.models.Plugin;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.SearchHits;
+import org.elasticsearch.search.sort.SortOrder;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Turns a page of search hits into plugins, without the search itself</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransformerBenchmark {
+
+  @Param({"10", "50", "200"})
+  private int size;
+
+  private SearchHits hits;
+
+  @Setup
+  public void setup(DatastoreState datastore) {
+    hits = datastore.getClient().prepareSearch("plugins")
+      .setQuery(QueryBuilders.matchAllQuery())
+      .addSort("name.raw", SortOrder.ASC)
+      .setSize(size)
+      .execute().actionGet().getHits();
+  }
+
+  @Benchmark
+  public List<Plugin> transformHits() throws IOException {
+    return ElasticsearchTransformer.transformHits(hits);
+  }
+
+  @Benchmark
+  public List<byte[]> transformRawHits() {
+    return ElasticsearchTransformer.transformRawHits(hits);
+  }
+
+}
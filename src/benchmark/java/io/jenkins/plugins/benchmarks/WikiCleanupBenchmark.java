@@ -0,0 +1,113 @@
+package io.jenkins.plugins.benchmarks;
+
+import io.jenkins.plugins.services.HttpClientPool;
+import io.jenkins.plugins.services.PrerenderedWikiContent;
+import io.jenkins.plugins.services.impl.ConfluenceApiExtractor;
+import io.jenkins.plugins.services.impl.ConfluenceDirectExtractor;
+import io.jenkins.plugins.services.impl.GithubExtractor;
+import io.jenkins.plugins.services.impl.HttpClientWikiService;
+import org.apache.commons.io.FileUtils;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Runs each <code>WikiExtractor</code> on the test fixtures and compares the single pass wiki cleanup with the
+ * previous multi pass one</p>
+ *
+ * <p>The <code>legacy*</code> benchmarks reproduce the cleanup as it was done before <code>WikiContentCleaner</code>:
+ * a selector query for the "Plugin Information" table, another one for tables of contents and a full scan of the
+ * tree for each of <code>href</code> and <code>src</code>.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WikiCleanupBenchmark {
+
+  private static final String WIKI_URL = ConfluenceDirectExtractor.BASE_URL;
+  private static final String GITHUB_URL = "https://github.com/jenkinsci/configuration-as-code-plugin";
+
+  private HttpClientPool httpClientPool;
+  private HttpClientWikiService wikiService;
+  private GithubExtractor githubExtractor;
+  private ConfluenceApiExtractor confluenceApiExtractor;
+  private String confluenceContent;
+  private String confluenceApiContent;
+  private String githubContent;
+
+  @Setup
+  public void setup() throws IOException {
+    httpClientPool = new HttpClientPool();
+    wikiService = new HttpClientWikiService(httpClientPool, new PrerenderedWikiContent());
+    githubExtractor = new GithubExtractor();
+    confluenceApiExtractor = new ConfluenceApiExtractor();
+    confluenceContent = FileUtils.readFileToString(new File("src/test/resources/wiki_content.html"), StandardCharsets.UTF_8);
+    // The REST API returns the same view as the page, wrapped in a search result
+    final String view = Jsoup.parse(confluenceContent).getElementsByClass("wiki-content").first().html();
+    confluenceApiContent = new JSONObject().put("results", new JSONArray().put(new JSONObject()
+      .put("body", new JSONObject().put("view", new JSONObject().put("value", view))))).toString();
+    githubContent = FileUtils.readFileToString(new File("src/test/resources/github_content.html"), StandardCharsets.UTF_8);
+  }
+
+  @TearDown
+  public void tearDown() {
+    httpClientPool.close();
+  }
+
+  @Benchmark
+  public String confluence() {
+    return ConfluenceDirectExtractor.cleanWikiContent(confluenceContent, wikiService);
+  }
+
+  @Benchmark
+  public String confluenceApi() {
+    return confluenceApiExtractor.extractHtml(confluenceApiContent, WIKI_URL + "/display/JENKINS/Git+Plugin", wikiService);
+  }
+
+  @Benchmark
+  public String legacyConfluence() {
+    final Element wikiContent = Jsoup.parse(confluenceContent).getElementsByClass("wiki-content").first();
+    final Element topPluginInformation = wikiContent
+      .select(".conf-macro.output-inline th :contains(Plugin Information)").first();
+    if (topPluginInformation != null) {
+      Element element = topPluginInformation;
+      while (!element.tagName().equals("table")) {
+        element = element.parent();
+      }
+      element.remove();
+    }
+    wikiContent.getElementsByClass("toc").remove();
+    legacyConvertLinksToAbsolute(wikiContent, WIKI_URL, "/display/JENKINS/", WIKI_URL, "/display/JENKINS/");
+    return wikiContent.html();
+  }
+
+  @Benchmark
+  public String github() {
+    return githubExtractor.extractHtml(githubContent, GITHUB_URL, wikiService);
+  }
+
+  @Benchmark
+  public String legacyGithub() {
+    final Element mainDiv = Jsoup.parse(githubContent).getElementsByTag("body").get(0).child(0);
+    legacyConvertLinksToAbsolute(mainDiv,
+      "https://github.com/jenkinsci/configuration-as-code-plugin/blob/master", "/",
+      "https://cdn.jsdelivr.net/gh/jenkinsci/configuration-as-code-plugin@master", "/");
+    return mainDiv.toString();
+  }
+
+  private void legacyConvertLinksToAbsolute(Element wikiContent, String linkHost, String linkPath, String imageHost, String imagePath) {
+    wikiContent.getElementsByAttribute("href").forEach(element -> wikiService.replaceAttribute(element, "href", linkHost, linkPath));
+    wikiContent.getElementsByAttribute("src").forEach(element -> wikiService.replaceAttribute(element, "src", imageHost, imagePath));
+  }
+
+}
@@ -0,0 +1,278 @@
+package io.jenkins.plugins.commons;
+
+import io.jenkins.plugins.models.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * <p>Compact binary encoding of <code>Stats</code></p>
+ *
+ * <p>Each time series is written as columns rather than as a list of objects: timestamps as the zig-zag varint of
+ * their delta-of-delta, totals as the zig-zag varint of their delta and percentages as raw 8 byte doubles. Monthly
+ * timestamps then take a byte or two per point and totals rarely more than two. Lists are prefixed by their size plus
+ * one so a missing list, <code>0</code>, can be told apart from an empty one.</p>
+ *
+ * <p>Versions can't be null. Decoding checks every size and length against the bytes left so corrupt input fails
+ * with an <code>IllegalArgumentException</code> before anything is allocated.</p>
+ *
+ * <p>Served as <code>application/vnd.jenkins.stats</code> by <code>/plugin/{name}/stats.bin</code>, format version
+ * <code>1</code>:</p>
+ * <pre>
+ * version                              byte
+ * currentInstalls, trend               zig-zag varint
+ * installations                        size, timestamps, totals
+ * installationsPercentage              size, timestamps, percentages
+ * installationsPerVersion              size, versions, totals
+ * installationsPercentagePerVersion    size, versions, percentages
+ * </pre>
+ *
+ * @see io.jenkins.plugins.services.PluginStatsStore
+ */
+public final class StatsCodec {
+
+  public static final String MEDIA_TYPE = "application/vnd.jenkins.stats";
+
+  private static final byte VERSION = 1;
+
+  private StatsCodec() {
+  }
+
+  /**
+   * @throws IllegalArgumentException if a version of <code>stats</code> is null
+   */
+  public static byte[] encode(Stats stats) {
+    final Writer writer = new Writer();
+    writer.bytes.write(VERSION);
+    writer.writeSigned(stats.getCurrentInstalls());
+    writer.writeSigned(stats.getTrend());
+    if (writer.writeSize(stats.getInstallations())) {
+      writer.writeTimestamps(stats.getInstallations(), Installation::getTimestamp);
+      writer.writeTotals(stats.getInstallations(), Installation::getTotal);
+    }
+    if (writer.writeSize(stats.getInstallationsPercentage())) {
+      writer.writeTimestamps(stats.getInstallationsPercentage(), InstallationPercentage::getTimestamp);
+      stats.getInstallationsPercentage().forEach(point -> writer.writeDouble(point.getPercentage()));
+    }
+    if (writer.writeSize(stats.getInstallationsPerVersion())) {
+      stats.getInstallationsPerVersion().forEach(point -> writer.writeString(point.getVersion()));
+      writer.writeTotals(stats.getInstallationsPerVersion(), InstallationVersion::getTotal);
+    }
+    if (writer.writeSize(stats.getInstallationsPercentagePerVersion())) {
+      stats.getInstallationsPercentagePerVersion().forEach(point -> writer.writeString(point.getVersion()));
+      stats.getInstallationsPercentagePerVersion().forEach(point -> writer.writeDouble(point.getPercentage()));
+    }
+    return writer.bytes.toByteArray();
+  }
+
+  /**
+   * @throws IllegalArgumentException if <code>bytes</code> aren't in a known format
+   */
+  public static Stats decode(byte[] bytes) {
+    final Reader reader = new Reader(bytes);
+    if (reader.readByte() != VERSION) {
+      throw new IllegalArgumentException("Unknown stats format version " + bytes[0]);
+    }
+    final Stats stats = new Stats();
+    stats.setCurrentInstalls(reader.readSigned());
+    stats.setTrend(reader.readSigned());
+    int size = reader.readSize();
+    if (size >= 0) {
+      final long[] timestamps = reader.readTimestamps(size);
+      final long[] totals = reader.readTotals(size);
+      final List<Installation> installations = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        installations.add(new Installation(timestamps[i], (int) totals[i]));
+      }
+      stats.setInstallations(installations);
+    }
+    size = reader.readSize();
+    if (size >= 0) {
+      final long[] timestamps = reader.readTimestamps(size);
+      final List<InstallationPercentage> installationsPercentage = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        installationsPercentage.add(new InstallationPercentage(timestamps[i], reader.readDouble()));
+      }
+      stats.setInstallationsPercentage(installationsPercentage);
+    }
+    size = reader.readSize();
+    if (size >= 0) {
+      final String[] versions = reader.readStrings(size);
+      final long[] totals = reader.readTotals(size);
+      final List<InstallationVersion> installationsPerVersion = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        installationsPerVersion.add(new InstallationVersion(versions[i], (int) totals[i]));
+      }
+      stats.setInstallationsPerVersion(installationsPerVersion);
+    }
+    size = reader.readSize();
+    if (size >= 0) {
+      final String[] versions = reader.readStrings(size);
+      final List<InstallationPercentageVersion> installationsPercentagePerVersion = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        installationsPercentagePerVersion.add(new InstallationPercentageVersion(versions[i], reader.readDouble()));
+      }
+      stats.setInstallationsPercentagePerVersion(installationsPercentagePerVersion);
+    }
+    return stats;
+  }
+
+  private static final class Writer {
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    /**
+     * @return whether <code>list</code> is present and its elements have to follow
+     */
+    private boolean writeSize(List<?> list) {
+      writeUnsigned(list != null ? list.size() + 1 : 0);
+      return list != null;
+    }
+
+    private <T> void writeTimestamps(List<T> points, Function<T, Long> timestamp) {
+      long previous = 0;
+      long previousDelta = 0;
+      for (T point : points) {
+        final long value = timestamp.apply(point);
+        final long delta = value - previous;
+        writeSigned(delta - previousDelta);
+        previous = value;
+        previousDelta = delta;
+      }
+    }
+
+    private <T> void writeTotals(List<T> points, Function<T, Integer> total) {
+      long previous = 0;
+      for (T point : points) {
+        final long value = total.apply(point);
+        writeSigned(value - previous);
+        previous = value;
+      }
+    }
+
+    private void writeString(String value) {
+      if (value == null) {
+        throw new IllegalArgumentException("Stats version can't be null");
+      }
+      final byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+      writeUnsigned(utf8.length);
+      bytes.write(utf8, 0, utf8.length);
+    }
+
+    private void writeDouble(double value) {
+      final long bits = Double.doubleToLongBits(value);
+      for (int shift = 56; shift >= 0; shift -= 8) {
+        bytes.write((int) (bits >>> shift));
+      }
+    }
+
+    private void writeSigned(long value) {
+      writeUnsigned((value << 1) ^ (value >> 63));
+    }
+
+    private void writeUnsigned(long value) {
+      while ((value & ~0x7FL) != 0) {
+        bytes.write((int) ((value & 0x7F) | 0x80));
+        value >>>= 7;
+      }
+      bytes.write((int) value);
+    }
+
+  }
+
+  private static final class Reader {
+
+    private final byte[] bytes;
+    private int position;
+
+    private Reader(byte[] bytes) {
+      this.bytes = bytes;
+    }
+
+    /**
+     * <p>Every element of a list takes at least a byte so a size larger than what's left can only be corrupt</p>
+     *
+     * @return size of the list that follows, -1 if it's missing
+     */
+    private int readSize() {
+      final long size = readUnsigned() - 1;
+      if (size < -1 || size > bytes.length - position) {
+        throw new IllegalArgumentException("Invalid stats list size " + size);
+      }
+      return (int) size;
+    }
+
+    private long[] readTimestamps(int size) {
+      final long[] timestamps = new long[size];
+      long previous = 0;
+      long previousDelta = 0;
+      for (int i = 0; i < size; i++) {
+        final long delta = previousDelta + readSigned();
+        timestamps[i] = previous + delta;
+        previous = timestamps[i];
+        previousDelta = delta;
+      }
+      return timestamps;
+    }
+
+    private long[] readTotals(int size) {
+      final long[] totals = new long[size];
+      long previous = 0;
+      for (int i = 0; i < size; i++) {
+        totals[i] = previous + readSigned();
+        previous = totals[i];
+      }
+      return totals;
+    }
+
+    private String[] readStrings(int size) {
+      final String[] strings = new String[size];
+      for (int i = 0; i < size; i++) {
+        final long length = readUnsigned();
+        if (length < 0 || length > bytes.length - position) {
+          throw new IllegalArgumentException("Invalid stats string length " + length);
+        }
+        strings[i] = new String(bytes, position, (int) length, StandardCharsets.UTF_8);
+        position += length;
+      }
+      return strings;
+    }
+
+    private double readDouble() {
+      long bits = 0;
+      for (int i = 0; i < 8; i++) {
+        bits = (bits << 8) | (readByte() & 0xFF);
+      }
+      return Double.longBitsToDouble(bits);
+    }
+
+    private long readSigned() {
+      final long value = readUnsigned();
+      return (value >>> 1) ^ -(value & 1);
+    }
+
+    private long readUnsigned() {
+      long value = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+        final byte b = readByte();
+        value |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new IllegalArgumentException("Invalid stats varint");
+    }
+
+    private byte readByte() {
+      if (position >= bytes.length) {
+        throw new IllegalArgumentException("Truncated stats");
+      }
+      return bytes[position++];
+    }
+
+  }
+
+}
@@ -8,20 +8,61 @@ import javax.inject.Singleton;
 /**
  * <p>Binder for the data tier</p>
  *
- * <p>Binds</p>
+ * <p>Binds for <code>DatastoreType.ELASTICSEARCH</code></p>
  * <ul>
  *   <li><code>EmbeddedElasticsearchServer</code> to itself as a <code>Singleton</code></li>
  *   <li><code>ElasticsearchClientFactory</code> to <code>Client</code> as a <code>Singleton</code></li>
  * </ul>
  *
+ * <p>Binds for <code>DatastoreType.LUCENE</code></p>
+ * <ul>
+ *   <li><code>LuceneIndex</code> to itself as a <code>Singleton</code></li>
+ * </ul>
+ *
+ * <p>Binds for <code>DatastoreType.MEMORY</code></p>
+ * <ul>
+ *   <li><code>ColumnarPluginIndexHolder</code> to itself as a <code>Singleton</code></li>
+ * </ul>
+ *
+ * <p>Binds for every datastore</p>
+ * <ul>
+ *   <li><code>PluginSnapshotHolder</code> to itself as a <code>Singleton</code></li>
+ * </ul>
+ *
+ * @see ColumnarPluginIndexHolder
+ * @see DatastoreType
  * @see ElasticsearchClientFactory
  * @see EmbeddedElasticsearchServer
+ * @see LuceneIndex
+ * @see PluginSnapshotHolder
  */
 public class Binder extends AbstractBinder {
 
+  private final DatastoreType datastoreType;
+
+  public Binder() {
+    this(DatastoreType.fromEnvironment());
+  }
+
+  public Binder(DatastoreType datastoreType) {
+    this.datastoreType = datastoreType;
+  }
+
   @Override
   protected void configure() {
-    bind(EmbeddedElasticsearchServer.class).to(EmbeddedElasticsearchServer.class).in(Singleton.class);
-    bindFactory(ElasticsearchClientFactory.class).to(Client.class).in(Singleton.class);
+    switch (datastoreType) {
+      case ELASTICSEARCH:
+        bind(EmbeddedElasticsearchServer.class).to(EmbeddedElasticsearchServer.class).in(Singleton.class);
+        bindFactory(ElasticsearchClientFactory.class).to(Client.class).in(Singleton.class);
+        break;
+      case LUCENE:
+        bind(LuceneIndex.class).to(LuceneIndex.class).in(Singleton.class);
+        break;
+      case MEMORY:
+        bind(ColumnarPluginIndexHolder.class).to(ColumnarPluginIndexHolder.class).in(Singleton.class);
+        break;
+      default: break;
+    }
+    bind(PluginSnapshotHolder.class).to(PluginSnapshotHolder.class).in(Singleton.class);
   }
 }
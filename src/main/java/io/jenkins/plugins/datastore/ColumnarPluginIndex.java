@@ -0,0 +1,227 @@
+package io.jenkins.plugins.datastore;
+
+import io.jenkins.plugins.models.Plugin;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * <p>Immutable column oriented view of a single data version kept entirely in memory</p>
+ *
+ * <p>Each plugin is identified by its position in the columns. Numeric sort keys are kept in primitive arrays, every
+ * search term maps to a <code>BitSet</code> of the plugins having it, facets are kept in a <code>FacetIndex</code> over
+ * the same ids, and the plugin order of every sort is computed once when the index is built. A search then comes down
+ * to intersecting bitsets and walking one of the precomputed orders.</p>
+ *
+ * @see ColumnarPluginIndexHolder
+ */
+public final class ColumnarPluginIndex {
+
+  /**
+   * <p>Value of a numeric column for plugins without one, sorts them last</p>
+   */
+  public static final long MISSING = Long.MIN_VALUE;
+
+  private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+  private final Plugin[] plugins;
+  private final byte[][] sources;
+  private final long[] currentInstalls;
+  private final long[] trend;
+  private final long[] firstRelease;
+  private final long[] releaseTimestamp;
+
+  private final FacetIndex facets;
+  private final Map<String, Integer> ids = new HashMap<>();
+  private final Map<String, BitSet> titleTerms = new HashMap<>();
+  private final Map<String, BitSet> excerptTerms = new HashMap<>();
+
+  private final int[] byName;
+  private final int[] byTitle;
+  private final int[] byInstalls;
+  private final int[] byTrend;
+  private final int[] byFirstRelease;
+  private final int[] byReleaseTimestamp;
+
+  /**
+   * @param plugins plugins of the data version, never modified
+   * @param sources serialized plugins, in the same order as <code>plugins</code>
+   */
+  public ColumnarPluginIndex(List<Plugin> plugins, List<byte[]> sources) {
+    final int size = plugins.size();
+    this.plugins = plugins.toArray(new Plugin[size]);
+    this.sources = sources.toArray(new byte[size][]);
+    this.currentInstalls = new long[size];
+    this.trend = new long[size];
+    this.firstRelease = new long[size];
+    this.releaseTimestamp = new long[size];
+    this.facets = new FacetIndex(this.plugins);
+    for (int id = 0; id < size; id++) {
+      final Plugin plugin = this.plugins[id];
+      ids.put(plugin.getName(), id);
+      currentInstalls[id] = plugin.getStats() != null ? plugin.getStats().getCurrentInstalls() : MISSING;
+      trend[id] = plugin.getStats() != null ? plugin.getStats().getTrend() : MISSING;
+      firstRelease[id] = toEpochMillis(plugin.getFirstRelease());
+      releaseTimestamp[id] = toEpochMillis(plugin.getReleaseTimestamp());
+      addAll(titleTerms, tokenize(plugin.getTitle()), id);
+      addAll(excerptTerms, tokenize(plugin.getExcerpt()), id);
+    }
+    this.byName = orderBy(Comparator.comparing(id -> this.plugins[id].getName(), Comparator.nullsLast(Comparator.naturalOrder())));
+    this.byTitle = orderBy(Comparator.comparing(id -> this.plugins[id].getTitle(), Comparator.nullsLast(Comparator.naturalOrder())));
+    this.byInstalls = orderByDescending(currentInstalls);
+    this.byTrend = orderByDescending(trend);
+    this.byFirstRelease = orderBy(descending(firstRelease).thenComparing(descending(currentInstalls)));
+    this.byReleaseTimestamp = orderByDescending(releaseTimestamp);
+  }
+
+  public int size() {
+    return plugins.length;
+  }
+
+  public Plugin getPlugin(int id) {
+    return plugins[id];
+  }
+
+  public byte[] getSource(int id) {
+    return sources[id];
+  }
+
+  /**
+   * @return every plugin
+   */
+  public BitSet all() {
+    final BitSet all = new BitSet(plugins.length);
+    all.set(0, plugins.length);
+    return all;
+  }
+
+  /**
+   * @return plugin named <code>name</code>, exact match
+   */
+  public BitSet name(String name) {
+    final BitSet result = new BitSet(plugins.length);
+    final Integer id = ids.get(name);
+    if (id != null) {
+      result.set(id);
+    }
+    return result;
+  }
+
+  /**
+   * <p>Categories, labels, maintainers and required cores, sharing the ids of this index</p>
+   */
+  public FacetIndex getFacets() {
+    return facets;
+  }
+
+  /**
+   * @return plugins with any of the terms of <code>text</code> in their title
+   */
+  public BitSet title(String text) {
+    return any(titleTerms, tokenize(text));
+  }
+
+  /**
+   * @return plugins with any of the terms of <code>text</code> in their excerpt
+   */
+  public BitSet excerpt(String text) {
+    return any(excerptTerms, tokenize(text));
+  }
+
+  /**
+   * @return plugins ordered by name
+   */
+  public int[] byName() {
+    return byName;
+  }
+
+  public int[] byTitle() {
+    return byTitle;
+  }
+
+  /**
+   * @return plugins ordered by descending installs
+   */
+  public int[] byInstalls() {
+    return byInstalls;
+  }
+
+  public int[] byTrend() {
+    return byTrend;
+  }
+
+  /**
+   * @return plugins ordered by descending first release then descending installs
+   */
+  public int[] byFirstRelease() {
+    return byFirstRelease;
+  }
+
+  public int[] byReleaseTimestamp() {
+    return byReleaseTimestamp;
+  }
+
+  /**
+   * @return lower cased terms of <code>text</code>, split like the standard analyzer roughly does
+   */
+  public static Set<String> tokenize(String text) {
+    if (text == null) {
+      return Collections.emptySet();
+    }
+    final Set<String> terms = new HashSet<>();
+    for (String term : TOKEN_SEPARATOR.split(text.toLowerCase())) {
+      if (!term.isEmpty()) {
+        terms.add(term);
+      }
+    }
+    return terms;
+  }
+
+  private BitSet any(Map<String, BitSet> index, Collection<String> values) {
+    final BitSet result = new BitSet(plugins.length);
+    for (String value : values) {
+      final BitSet ids = index.get(value);
+      if (ids != null) {
+        result.or(ids);
+      }
+    }
+    return result;
+  }
+
+  private void add(Map<String, BitSet> index, String value, int id) {
+    index.computeIfAbsent(value, key -> new BitSet(plugins.length)).set(id);
+  }
+
+  private void addAll(Map<String, BitSet> index, Collection<String> values, int id) {
+    if (values != null) {
+      values.forEach(value -> add(index, value, id));
+    }
+  }
+
+  private int[] orderByDescending(long[] column) {
+    return orderBy(descending(column));
+  }
+
+  private Comparator<Integer> descending(long[] column) {
+    return (a, b) -> Long.compare(column[b], column[a]);
+  }
+
+  /**
+   * <p>Ties keep the order plugins were indexed in</p>
+   */
+  private int[] orderBy(Comparator<Integer> comparator) {
+    final Integer[] order = new Integer[plugins.length];
+    for (int id = 0; id < order.length; id++) {
+      order[id] = id;
+    }
+    Arrays.sort(order, comparator);
+    return Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+  }
+
+  private static long toEpochMillis(LocalDateTime dateTime) {
+    return dateTime != null ? dateTime.toInstant(ZoneOffset.UTC).toEpochMilli() : MISSING;
+  }
+
+}
@@ -0,0 +1,24 @@
+package io.jenkins.plugins.datastore;
+
+/**
+ * <p>Holds the <code>ColumnarPluginIndex</code> of the data currently being served</p>
+ *
+ * <p>The index is replaced as a whole so readers either see the previous or the new data version, never a mix of
+ * both.</p>
+ */
+public class ColumnarPluginIndexHolder {
+
+  private volatile ColumnarPluginIndex index;
+
+  /**
+   * @return current index, null if the datastore hasn't been populated yet
+   */
+  public ColumnarPluginIndex get() {
+    return index;
+  }
+
+  public void set(ColumnarPluginIndex index) {
+    this.index = index;
+  }
+
+}
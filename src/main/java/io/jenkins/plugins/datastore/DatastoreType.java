@@ -0,0 +1,26 @@
+package io.jenkins.plugins.datastore;
+
+/**
+ * <p>Enum specifying which datastore backs the application</p>
+ *
+ * <p>Chosen with the <code>DATASTORE</code> environment variable, defaulting to <code>elasticsearch</code></p>
+ */
+public enum DatastoreType {
+
+  ELASTICSEARCH,
+  LUCENE,
+  MEMORY;
+
+  public String value() {
+    return name().toLowerCase();
+  }
+
+  public static DatastoreType fromString(String s) {
+    return valueOf(s.toUpperCase());
+  }
+
+  public static DatastoreType fromEnvironment() {
+    return fromString(System.getenv().getOrDefault("DATASTORE", ELASTICSEARCH.value()));
+  }
+
+}
@@ -1,7 +1,12 @@
 package io.jenkins.plugins.datastore;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.jenkins.plugins.commons.JsonObjectMapper;
 import io.jenkins.plugins.models.Plugin;
+import io.jenkins.plugins.models.RawPlugin;
+import io.jenkins.plugins.models.Wiki;
 import org.elasticsearch.action.get.GetResponse;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHits;
@@ -37,4 +42,32 @@ public class ElasticsearchTransformer {
     }
   }
 
+  public static List<byte[]> transformRawHits(SearchHits hits) {
+    return StreamSupport.stream(hits.spliterator(), false)
+      .map(SearchHit::source)
+      .filter(source -> source != null)
+      .collect(Collectors.toList());
+  }
+
+  public static RawPlugin transformRawGet(GetResponse get) throws IOException {
+    return transformRaw(get.getSourceAsBytes());
+  }
+
+  /**
+   * <p>Split the stored source of a plugin into its JSON without the wiki and the wiki itself</p>
+   *
+   * @param source Stored source of a plugin document
+   * @return raw plugin
+   * @throws IOException in case the source isn't valid JSON
+   */
+  public static RawPlugin transformRaw(byte[] source) throws IOException {
+    final ObjectMapper mapper = JsonObjectMapper.getObjectMapper();
+    final ObjectNode node = (ObjectNode) mapper.readTree(source);
+    final JsonNode wiki = node.remove("wiki");
+    return new RawPlugin(
+      mapper.writeValueAsBytes(node),
+      wiki != null && !wiki.isNull() ? mapper.treeToValue(wiki, Wiki.class) : null
+    );
+  }
+
 }
@@ -0,0 +1,163 @@
+package io.jenkins.plugins.datastore;
+
+import io.jenkins.plugins.models.Maintainer;
+import io.jenkins.plugins.models.Plugin;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * <p>Bitmaps of the plugins having each category, label, maintainer and required core of a data version</p>
+ *
+ * <p>Built once per <code>PluginSnapshot</code> so the facet lists, ordered by the number of plugins per value, don't
+ * need an aggregation per request. The <code>ColumnarPluginIndex</code> of the memory datastore answers search filters
+ * with bitmap AND/OR over one too.</p>
+ */
+public final class FacetIndex {
+
+  private final String[] names;
+  private final Map<String, BitSet> categories = new HashMap<>();
+  private final Map<String, BitSet> labels = new HashMap<>();
+  private final Map<String, BitSet> maintainerIds = new HashMap<>();
+  private final Map<String, BitSet> maintainerNameTerms = new HashMap<>();
+  private final Map<String, BitSet> requiredCores = new HashMap<>();
+
+  private final List<String> maintainers;
+  private final List<String> labelsByCount;
+  private final List<String> requiredCoresByCount;
+
+  public FacetIndex(Collection<Plugin> plugins) {
+    this(plugins.stream()
+      .sorted(Comparator.comparing(Plugin::getName))
+      .toArray(Plugin[]::new));
+  }
+
+  /**
+   * <p>Plugins are identified by their position in <code>plugins</code> so <code>ColumnarPluginIndex</code> can share
+   * its ids</p>
+   */
+  FacetIndex(Plugin[] plugins) {
+    this.names = new String[plugins.length];
+    for (int id = 0; id < names.length; id++) {
+      final Plugin plugin = plugins[id];
+      names[id] = plugin.getName();
+      addAll(categories, plugin.getCategories(), id);
+      addAll(labels, plugin.getLabels(), id);
+      if (plugin.getRequiredCore() != null) {
+        add(requiredCores, plugin.getRequiredCore(), id);
+      }
+      if (plugin.getMaintainers() != null) {
+        for (Maintainer maintainer : plugin.getMaintainers()) {
+          if (maintainer.getId() != null) {
+            add(maintainerIds, maintainer.getId(), id);
+          }
+          addAll(maintainerNameTerms, ColumnarPluginIndex.tokenize(maintainer.getName()), id);
+        }
+      }
+    }
+    this.maintainers = Collections.unmodifiableList(maintainerIds.keySet().stream()
+      .sorted()
+      .collect(Collectors.toList()));
+    this.labelsByCount = Collections.unmodifiableList(byCount(labels));
+    this.requiredCoresByCount = Collections.unmodifiableList(byCount(requiredCores));
+  }
+
+  /**
+   * <p>Plugins passing the same filters <code>ElasticsearchDatastoreService</code> applies: any of the categories or
+   * labels, any of the maintainers by id or name and the required core</p>
+   *
+   * @return ids of the matching plugins
+   */
+  public BitSet matching(Set<String> categories, Set<String> labels, Set<String> maintainers, String core) {
+    final BitSet matches = new BitSet(names.length);
+    matches.set(0, names.length);
+    if (!categories.isEmpty() || !labels.isEmpty()) {
+      final BitSet categoriesOrLabels = categories(categories);
+      categoriesOrLabels.or(labels(labels));
+      matches.and(categoriesOrLabels);
+    }
+    if (!maintainers.isEmpty()) {
+      final BitSet byMaintainer = maintainerIds(maintainers);
+      maintainers.forEach(maintainer -> byMaintainer.or(maintainerNames(maintainer)));
+      matches.and(byMaintainer);
+    }
+    if (core != null) {
+      matches.and(any(requiredCores, Collections.singleton(core)));
+    }
+    return matches;
+  }
+
+  public BitSet categories(Collection<String> values) {
+    return any(categories, values);
+  }
+
+  public BitSet labels(Collection<String> values) {
+    return any(labels, values);
+  }
+
+  public BitSet maintainerIds(Collection<String> values) {
+    return any(maintainerIds, values);
+  }
+
+  /**
+   * @return plugins with any of the terms of <code>text</code> in the name of a maintainer
+   */
+  public BitSet maintainerNames(String text) {
+    return any(maintainerNameTerms, ColumnarPluginIndex.tokenize(text));
+  }
+
+  /**
+   * @return maintainer ids, sorted
+   */
+  public List<String> getMaintainers() {
+    return maintainers;
+  }
+
+  /**
+   * @return labels by descending number of plugins then label
+   */
+  public List<String> getLabels() {
+    return labelsByCount;
+  }
+
+  /**
+   * @return required cores by descending number of plugins then version
+   */
+  public List<String> getRequiredCores() {
+    return requiredCoresByCount;
+  }
+
+  private BitSet any(Map<String, BitSet> index, Collection<String> values) {
+    final BitSet result = new BitSet(names.length);
+    for (String value : values) {
+      final BitSet ids = index.get(value);
+      if (ids != null) {
+        result.or(ids);
+      }
+    }
+    return result;
+  }
+
+  private void add(Map<String, BitSet> index, String value, int id) {
+    index.computeIfAbsent(value, key -> new BitSet(names.length)).set(id);
+  }
+
+  private void addAll(Map<String, BitSet> index, Collection<String> values, int id) {
+    if (values != null) {
+      values.forEach(value -> add(index, value, id));
+    }
+  }
+
+  /**
+   * @return values ordered by descending count then value, the order of Elasticsearch terms buckets
+   */
+  private static List<String> byCount(Map<String, BitSet> index) {
+    final Map<String, Integer> counts = new HashMap<>();
+    index.forEach((value, ids) -> counts.put(value, ids.cardinality()));
+    return counts.entrySet().stream()
+      .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.<String, Integer>comparingByKey()))
+      .map(Map.Entry::getKey)
+      .collect(Collectors.toList());
+  }
+
+}
@@ -0,0 +1,145 @@
+package io.jenkins.plugins.datastore;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.util.CharArraySet;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.store.RAMDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+
+/**
+ * <p>In-process Lucene index holding the plugins, an alternative to <code>EmbeddedElasticsearchServer</code></p>
+ *
+ * <p>There is a single index that is rewritten as a whole for each data version. Searchers only see it again once
+ * the new version has been committed and <code>refresh</code> is called, so a search never sees a mix of
+ * versions. The index lives in a memory mapped temporary directory unless <code>LUCENE_DIRECTORY</code> is set to
+ * <code>ram</code>.</p>
+ */
+public class LuceneIndex {
+
+  private final Logger logger = LoggerFactory.getLogger(LuceneIndex.class);
+
+  private static final String LUCENE_DIRECTORY = System.getenv().getOrDefault("LUCENE_DIRECTORY", "mmap");
+
+  private File tempDir;
+  private Directory directory;
+  private Analyzer analyzer;
+  private volatile IndexWriter writer;
+  private volatile SearcherManager searcherManager;
+
+  @PostConstruct
+  public void postConstruct() {
+    logger.info("Initialize lucene");
+    try {
+      if (LUCENE_DIRECTORY.equalsIgnoreCase("ram")) {
+        directory = new RAMDirectory();
+      } else {
+        tempDir = Files.createTempDirectory("lucene_").toFile();
+        directory = new MMapDirectory(tempDir.toPath());
+      }
+      // Same as the Elasticsearch standard analyzer, which has no stop words
+      analyzer = new StandardAnalyzer(CharArraySet.EMPTY_SET);
+      writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+      writer.commit();
+      searcherManager = new SearcherManager(writer, true, null);
+    } catch (IOException e) {
+      logger.error("Problem creating lucene index", e);
+      throw new RuntimeException(e);
+    }
+    logger.info("Initialized lucene");
+  }
+
+  @PreDestroy
+  public void preDestroy() {
+    logger.info("Destroying lucene");
+    try {
+      searcherManager.close();
+      writer.close();
+      directory.close();
+    } catch (IOException e) {
+      logger.warn("Problem closing lucene index", e);
+    }
+    if (tempDir != null) {
+      FileUtils.deleteQuietly(tempDir);
+    }
+    logger.info("Destroyed lucene");
+  }
+
+  public Analyzer getAnalyzer() {
+    return analyzer;
+  }
+
+  /**
+   * <p>Writer for the next data version. Nothing written is searchable until it's committed and <code>refresh</code>
+   * is called.</p>
+   */
+  public IndexWriter getWriter() {
+    return writer;
+  }
+
+  /**
+   * <p>Discard everything written since the last commit, commit data included</p>
+   *
+   * <p>Lucene closes a writer once it's rolled back so a new one is opened on the last commit, along with the
+   * searchers over it. Searchers acquired before are still released with <code>release</code>.</p>
+   */
+  public synchronized void rollback() throws IOException {
+    writer.rollback();
+    writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+    final SearcherManager previous = searcherManager;
+    searcherManager = new SearcherManager(writer, true, null);
+    previous.close();
+  }
+
+  /**
+   * <p>Make the last commit searchable</p>
+   */
+  public void refresh() throws IOException {
+    searcherManager.maybeRefreshBlocking();
+  }
+
+  /**
+   * <p>Searcher over the data version currently served. Must be given back with <code>release</code>.</p>
+   */
+  public IndexSearcher acquire() throws IOException {
+    return searcherManager.acquire();
+  }
+
+  public void release(IndexSearcher searcher) throws IOException {
+    searcherManager.release(searcher);
+  }
+
+  /**
+   * <p>Searcher over the last commit whether or not <code>refresh</code> has been called, to prepare a data version
+   * before it's served. The caller closes its reader.</p>
+   *
+   * <p>It shares segments with the searchers opened by the next <code>refresh</code>, so whatever it loads is
+   * loaded for them too.</p>
+   */
+  public IndexSearcher open() throws IOException {
+    return new IndexSearcher(DirectoryReader.open(writer, true));
+  }
+
+  /**
+   * @return user data of the last commit
+   */
+  public Map<String, String> getCommitData() {
+    return writer.getCommitData();
+  }
+
+}
@@ -0,0 +1,132 @@
+package io.jenkins.plugins.datastore;
+
+import io.jenkins.plugins.commons.JsonObjectMapper;
+import io.jenkins.plugins.models.Maintainer;
+import io.jenkins.plugins.models.Plugin;
+import org.apache.lucene.document.*;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.util.BytesRef;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p>Transforms plugins into Lucene documents and search results back into domain models</p>
+ *
+ * <p>Fields are named and analyzed like their counterparts in the Elasticsearch mapping. Nested maintainers are
+ * flattened into multi valued fields since they're only ever matched on a single field at a time.</p>
+ *
+ * @see LuceneIndex
+ */
+public class LuceneTransformer {
+
+  public static final String SOURCE = "_source";
+  public static final String NAME = "name";
+  public static final String NAME_RAW = "name.raw";
+  public static final String TITLE = "title";
+  public static final String TITLE_RAW = "title.raw";
+  public static final String EXCERPT = "excerpt";
+  public static final String CATEGORIES = "categories";
+  public static final String LABELS = "labels";
+  public static final String MAINTAINERS_ID = "maintainers.id";
+  public static final String MAINTAINERS_NAME = "maintainers.name";
+  public static final String REQUIRED_CORE = "requiredCore";
+  public static final String FIRST_RELEASE = "firstRelease";
+  public static final String RELEASE_TIMESTAMP = "releaseTimestamp";
+  public static final String CURRENT_INSTALLS = "stats.currentInstalls";
+  public static final String TREND = "stats.trend";
+
+  /**
+   * @param plugin plugin to index
+   * @param source serialized <code>plugin</code>, stored as is and returned by searches
+   * @return document for <code>plugin</code>
+   */
+  public static Document toDocument(Plugin plugin, byte[] source) {
+    final Document document = new Document();
+    document.add(new StoredField(SOURCE, source));
+    document.add(new StringField(NAME, plugin.getName(), Field.Store.NO));
+    document.add(new SortedDocValuesField(NAME_RAW, new BytesRef(plugin.getName())));
+    if (plugin.getTitle() != null) {
+      document.add(new TextField(TITLE, plugin.getTitle(), Field.Store.NO));
+      document.add(new SortedDocValuesField(TITLE_RAW, new BytesRef(plugin.getTitle())));
+    }
+    if (plugin.getExcerpt() != null) {
+      document.add(new TextField(EXCERPT, plugin.getExcerpt(), Field.Store.NO));
+    }
+    if (plugin.getCategories() != null) {
+      plugin.getCategories().forEach(category -> addKeyword(document, CATEGORIES, category));
+    }
+    if (plugin.getLabels() != null) {
+      plugin.getLabels().forEach(label -> addKeyword(document, LABELS, label));
+    }
+    if (plugin.getMaintainers() != null) {
+      for (Maintainer maintainer : plugin.getMaintainers()) {
+        if (maintainer.getId() != null) {
+          addKeyword(document, MAINTAINERS_ID, maintainer.getId());
+        }
+        if (maintainer.getName() != null) {
+          document.add(new TextField(MAINTAINERS_NAME, maintainer.getName(), Field.Store.NO));
+        }
+      }
+    }
+    if (plugin.getRequiredCore() != null) {
+      addKeyword(document, REQUIRED_CORE, plugin.getRequiredCore());
+    }
+    if (plugin.getFirstRelease() != null) {
+      document.add(new NumericDocValuesField(FIRST_RELEASE, toEpochMillis(plugin.getFirstRelease())));
+    }
+    if (plugin.getReleaseTimestamp() != null) {
+      document.add(new NumericDocValuesField(RELEASE_TIMESTAMP, toEpochMillis(plugin.getReleaseTimestamp())));
+    }
+    if (plugin.getStats() != null) {
+      document.add(new NumericDocValuesField(CURRENT_INSTALLS, plugin.getStats().getCurrentInstalls()));
+      document.add(new NumericDocValuesField(TREND, plugin.getStats().getTrend()));
+    }
+    return document;
+  }
+
+  /**
+   * @param fields fields of each plugin to keep, every field if empty
+   * @see SourceFilter
+   */
+  public static List<Plugin> transformHits(IndexSearcher searcher, ScoreDoc[] hits, Set<String> fields) throws IOException {
+    final List<Plugin> plugins = new ArrayList<>(hits.length);
+    for (byte[] source : transformRawHits(searcher, hits, fields)) {
+      plugins.add(JsonObjectMapper.getObjectMapper().readValue(source, Plugin.class));
+    }
+    return plugins;
+  }
+
+  /**
+   * @param fields fields of each plugin to keep, every field if empty
+   * @see SourceFilter
+   */
+  public static List<byte[]> transformRawHits(IndexSearcher searcher, ScoreDoc[] hits, Set<String> fields) throws IOException {
+    final List<byte[]> sources = new ArrayList<>(hits.length);
+    for (ScoreDoc hit : hits) {
+      final BytesRef source = searcher.doc(hit.doc).getBinaryValue(SOURCE);
+      if (source != null) {
+        sources.add(SourceFilter.filter(Arrays.copyOfRange(source.bytes, source.offset, source.offset + source.length), fields));
+      }
+    }
+    return sources;
+  }
+
+  /**
+   * <p>Index <code>value</code> untokenized for term queries</p>
+   */
+  private static void addKeyword(Document document, String field, String value) {
+    document.add(new StringField(field, value, Field.Store.NO));
+  }
+
+  private static long toEpochMillis(LocalDateTime dateTime) {
+    return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+  }
+
+}
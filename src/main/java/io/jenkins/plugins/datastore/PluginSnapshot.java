@@ -0,0 +1,60 @@
+package io.jenkins.plugins.datastore;
+
+import io.jenkins.plugins.models.Plugin;
+import io.jenkins.plugins.models.RawPlugin;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * <p>Immutable name to <code>Plugin</code> view of a single data version</p>
+ *
+ * <p>A snapshot is built once per index and published when the <code>plugins</code> alias is swapped. The plugins
+ * inside are shared between requests so they must never be modified.</p>
+ *
+ * @see PluginSnapshotHolder
+ */
+public final class PluginSnapshot {
+
+  private final LocalDateTime createdAt;
+  private final Map<String, Plugin> plugins;
+  private final Map<String, RawPlugin> rawPlugins;
+  private final FacetIndex facets;
+
+  public PluginSnapshot(LocalDateTime createdAt, Map<String, Plugin> plugins, Map<String, RawPlugin> rawPlugins) {
+    this.createdAt = createdAt;
+    this.plugins = Collections.unmodifiableMap(plugins);
+    this.rawPlugins = Collections.unmodifiableMap(rawPlugins);
+    this.facets = new FacetIndex(plugins.values());
+  }
+
+  /**
+   * @return creation time of the data this snapshot was built from. Used as the version of the snapshot
+   */
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public Plugin getPlugin(String name) {
+    return plugins.get(name);
+  }
+
+  public RawPlugin getRawPlugin(String name) {
+    return rawPlugins.get(name);
+  }
+
+  public Collection<Plugin> getPlugins() {
+    return plugins.values();
+  }
+
+  public FacetIndex getFacets() {
+    return facets;
+  }
+
+  public int size() {
+    return plugins.size();
+  }
+
+}
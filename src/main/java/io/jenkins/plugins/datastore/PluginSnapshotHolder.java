@@ -0,0 +1,38 @@
+package io.jenkins.plugins.datastore;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * <p>Holds the <code>PluginSnapshot</code> of the data currently being served</p>
+ *
+ * <p>The snapshot is replaced as a whole so readers either see the previous or the new data version, never a mix of
+ * both. Listeners are told about every swap once the new snapshot is visible.</p>
+ */
+public class PluginSnapshotHolder {
+
+  private final List<Consumer<PluginSnapshot>> listeners = new CopyOnWriteArrayList<>();
+
+  private volatile PluginSnapshot snapshot;
+
+  /**
+   * @return current snapshot, null if the datastore hasn't been populated yet
+   */
+  public PluginSnapshot get() {
+    return snapshot;
+  }
+
+  public void set(PluginSnapshot snapshot) {
+    this.snapshot = snapshot;
+    listeners.forEach(listener -> listener.accept(snapshot));
+  }
+
+  /**
+   * @param listener called with the new snapshot each time one is published
+   */
+  public void addListener(Consumer<PluginSnapshot> listener) {
+    listeners.add(listener);
+  }
+
+}
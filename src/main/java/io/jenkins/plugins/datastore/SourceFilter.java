@@ -0,0 +1,97 @@
+package io.jenkins.plugins.datastore;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.jenkins.plugins.commons.JsonObjectMapper;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>Keeps only some fields of a stored plugin document, like Elasticsearch <code>_source</code> filtering does</p>
+ *
+ * <p>Fields are paths into the document with nested objects separated by a dot, e.g.
+ * <code>stats.currentInstalls</code>. A path going through an array applies to each of its elements, so
+ * <code>maintainers.id</code> keeps only the id of every maintainer. As with Elasticsearch, values in an array that
+ * aren't objects are kept as they are, and an object left without any field is dropped.</p>
+ */
+public final class SourceFilter {
+
+  private SourceFilter() {
+  }
+
+  /**
+   * @param source serialized plugin
+   * @param fields paths to keep, every field if empty
+   * @return serialized plugin with only <code>fields</code>
+   */
+  public static byte[] filter(byte[] source, Set<String> fields) throws IOException {
+    if (fields.isEmpty()) {
+      return source;
+    }
+    final ObjectMapper mapper = JsonObjectMapper.getObjectMapper();
+    final Includes includes = new Includes();
+    for (String field : fields) {
+      Includes current = includes;
+      for (String name : field.split("\\.")) {
+        current = current.children.computeIfAbsent(name, key -> new Includes());
+      }
+      current.whole = true;
+    }
+    final JsonNode filtered = filter(mapper, mapper.readTree(source), includes);
+    return mapper.writeValueAsBytes(filtered != null ? filtered : mapper.createObjectNode());
+  }
+
+  /**
+   * @return part of <code>value</code> to keep, null if nothing is
+   */
+  private static JsonNode filter(ObjectMapper mapper, JsonNode value, Includes includes) {
+    if (includes.whole) {
+      return value;
+    }
+    if (value.isObject()) {
+      final ObjectNode filtered = mapper.createObjectNode();
+      final Iterator<Map.Entry<String, JsonNode>> fields = value.fields();
+      while (fields.hasNext()) {
+        final Map.Entry<String, JsonNode> field = fields.next();
+        final Includes child = includes.children.get(field.getKey());
+        if (child != null) {
+          final JsonNode kept = filter(mapper, field.getValue(), child);
+          if (kept != null) {
+            filtered.set(field.getKey(), kept);
+          }
+        }
+      }
+      return filtered.size() > 0 ? filtered : null;
+    }
+    if (value.isArray()) {
+      final ArrayNode filtered = mapper.createArrayNode();
+      for (JsonNode element : value) {
+        if (element.isContainerNode()) {
+          final JsonNode kept = filter(mapper, element, includes);
+          if (kept != null) {
+            filtered.add(kept);
+          }
+        } else {
+          filtered.add(element);
+        }
+      }
+      return filtered.size() > 0 ? filtered : null;
+    }
+    return null;
+  }
+
+  /**
+   * <p>Fields to keep, as a tree of the names along their paths</p>
+   */
+  private static final class Includes {
+    private final Map<String, Includes> children = new HashMap<>();
+    private boolean whole;
+  }
+
+}
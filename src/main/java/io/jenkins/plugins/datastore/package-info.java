@@ -5,5 +5,10 @@
  * application. The jenkins-infra team specifically did not want any external dependencies or resources if it could be
  * helped. This implementation will need to be re-evaluated in the near future as Elastic has announced the end of
  * embedded servers</p>
+ *
+ * <p>Alternatively the data can be kept in an in-process Lucene index, selected with <code>DATASTORE=lucene</code>,
+ * or in plain columns in memory, selected with <code>DATASTORE=memory</code>, which avoids running a node at all</p>
+ *
+ * @see DatastoreType
  */
 package io.jenkins.plugins.datastore;
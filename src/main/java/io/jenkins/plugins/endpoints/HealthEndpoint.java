@@ -1,5 +1,6 @@
 package io.jenkins.plugins.endpoints;
 
+import io.jenkins.plugins.services.HttpClientPool;
 import io.jenkins.plugins.services.PrepareDatastoreService;
 import io.jenkins.plugins.utils.VersionUtils;
 import org.slf4j.Logger;
@@ -27,6 +28,9 @@ public class HealthEndpoint {
   @Inject
   private PrepareDatastoreService prepareDatastoreService;
 
+  @Inject
+  private HttpClientPool httpClientPool;
+
   @Path("/elasticsearch")
   @GET
   public Map<String, Object> getElasticsearchHealth() {
@@ -39,4 +43,10 @@ public class HealthEndpoint {
     return result;
   }
 
+  @Path("/http")
+  @GET
+  public Map<String, Object> getHttpHealth() {
+    return httpClientPool.getStats();
+  }
+
 }
@@ -2,6 +2,7 @@ package io.jenkins.plugins.endpoints;
 
 import io.jenkins.plugins.models.Maintainers;
 import io.jenkins.plugins.services.DatastoreService;
+import io.jenkins.plugins.web.DataVersioned;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,6 +21,7 @@ import javax.ws.rs.core.Response;
  */
 @Path("/maintainers")
 @Produces(MediaType.APPLICATION_JSON)
+@DataVersioned(maxAge = 3600, staleWhileRevalidate = 86400, cacheCompressed = true)
 public class MaintainersEndpoint {
 
   private Logger logger = LoggerFactory.getLogger(CategoriesEndpoint.class);
@@ -1,9 +1,16 @@
 package io.jenkins.plugins.endpoints;
 
+import io.jenkins.plugins.commons.StatsCodec;
 import io.jenkins.plugins.models.Plugin;
+import io.jenkins.plugins.models.RawPlugin;
+import io.jenkins.plugins.models.Stats;
+import io.jenkins.plugins.models.Wiki;
 import io.jenkins.plugins.services.DatastoreService;
+import io.jenkins.plugins.services.PluginStatsStore;
 import io.jenkins.plugins.services.ServiceException;
 import io.jenkins.plugins.services.WikiService;
+import io.jenkins.plugins.web.DataVersioned;
+import io.jenkins.plugins.web.RawPluginMessageBodyWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,6 +24,12 @@ import javax.ws.rs.core.Response;
  *
  * <p>The major difference here compared to <code>PluginsEndpoint</code> is the result includes (if available) the wiki
  * content from the Jenkins Wiki page.</p>
+ *
+ * <p>Unless <code>PRESERIALIZED_RESPONSES</code> is set to <code>false</code> the plugin is written out as the JSON
+ * stored at index time with only the wiki serialized per request</p>
+ *
+ * <p>Installation time series aren't part of the plugin, they're served separately by <code>/stats</code>
+ * and <code>/stats.bin</code></p>
  */
 @Path("/plugin/{name}")
 @Produces(MediaType.APPLICATION_JSON)
@@ -30,6 +43,9 @@ public class PluginEndpoint {
   @Inject
   private WikiService wikiService;
 
+  @Inject
+  private PluginStatsStore statsStore;
+
   /**
    * <p>Get a plugin by name</p>
    *
@@ -37,15 +53,18 @@ public class PluginEndpoint {
    * @return Matching plugin
    */
   @GET
-  public Plugin getPlugin(@PathParam("name") String name) {
+  public Response getPlugin(@PathParam("name") String name) {
     try {
+      if (RawPluginMessageBodyWriter.PRESERIALIZED_RESPONSES) {
+        return Response.ok(getRawPlugin(name)).build();
+      }
       final Plugin plugin = datastoreService.getPlugin(name);
       if (plugin != null) {
         if (plugin.getWiki() != null) {
           final String content = wikiService.getWikiContent(plugin.getWiki().getUrl());
           plugin.getWiki().setContent(content);
         }
-        return plugin;
+        return Response.ok(plugin).build();
       } else {
         throw new WebApplicationException(Response.Status.NOT_FOUND);
       }
@@ -55,4 +74,56 @@ public class PluginEndpoint {
     }
   }
 
+  /**
+   * <p>Get the installation statistics of a plugin, time series included</p>
+   *
+   * @param name The plugin to retrieve statistics for
+   * @param from Only return points at or after this timestamp, in epoch millis. Defaults to the first point
+   * @param to Only return points at or before this timestamp, in epoch millis. Defaults to the last point
+   * @param points Return at most this many evenly spaced points of each time series. Defaults to every point
+   * @return Statistics of the plugin
+   */
+  @Path("/stats")
+  @GET
+  @DataVersioned
+  public Stats getStats(@PathParam("name") String name,
+                        @QueryParam("from") Long from,
+                        @QueryParam("to") Long to,
+                        @DefaultValue("0") @QueryParam("points") int points) {
+    final Stats stats = statsStore.get(name, from, to, points);
+    if (stats == null) {
+      throw new WebApplicationException(Response.Status.NOT_FOUND);
+    }
+    return stats;
+  }
+
+  /**
+   * <p>Same as <code>/stats</code> in the compact binary format of <code>StatsCodec</code></p>
+   *
+   * <p>Served from its own path rather than negotiated on <code>Accept</code> so each URI has a single
+   * representation and the data version ETag stays valid</p>
+   */
+  @Path("/stats.bin")
+  @GET
+  @Produces(StatsCodec.MEDIA_TYPE)
+  @DataVersioned
+  public Stats getBinaryStats(@PathParam("name") String name,
+                              @QueryParam("from") Long from,
+                              @QueryParam("to") Long to,
+                              @DefaultValue("0") @QueryParam("points") int points) {
+    return getStats(name, from, to, points);
+  }
+
+  private RawPlugin getRawPlugin(String name) {
+    final RawPlugin rawPlugin = datastoreService.getRawPlugin(name);
+    if (rawPlugin == null) {
+      throw new WebApplicationException(Response.Status.NOT_FOUND);
+    }
+    if (rawPlugin.getWiki() == null) {
+      return rawPlugin;
+    }
+    final String url = rawPlugin.getWiki().getUrl();
+    return new RawPlugin(rawPlugin.getJson(), new Wiki(wikiService.getWikiContent(url), url));
+  }
+
 }
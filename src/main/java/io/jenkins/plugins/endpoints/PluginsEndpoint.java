@@ -1,10 +1,11 @@
 package io.jenkins.plugins.endpoints;
 
-import io.jenkins.plugins.models.Plugins;
 import io.jenkins.plugins.services.DatastoreService;
 import io.jenkins.plugins.services.SearchOptions;
 import io.jenkins.plugins.services.ServiceException;
 import io.jenkins.plugins.services.SortBy;
+import io.jenkins.plugins.web.DataVersioned;
+import io.jenkins.plugins.web.RawPluginMessageBodyWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,9 +17,13 @@ import java.util.Set;
 
 /**
  * <p>Endpoint for searching for plugins</p>
+ *
+ * <p>Unless <code>PRESERIALIZED_RESPONSES</code> is set to <code>false</code> the plugins are written out as the JSON
+ * stored at index time instead of being parsed and serialized again for every request</p>
  */
 @Path("/plugins")
 @Produces(MediaType.APPLICATION_JSON)
+@DataVersioned
 public class PluginsEndpoint {
 
   private final Logger logger = LoggerFactory.getLogger(PluginsEndpoint.class);
@@ -37,10 +42,11 @@ public class PluginsEndpoint {
    * @param core Filter matches by core Jenkins version
    * @param limit How many results to return per page
    * @param page What page of the result set to return
+   * @param fields Fields of each plugin to return, e.g. <code>fields=name,title,excerpt</code>. Defaults to every field
    * @return Matching plugins
    */
   @GET
-  public Plugins search(
+  public Response search(
       @QueryParam("q") String query,
       @DefaultValue("relevance") @QueryParam("sort") SortBy sortBy,
       @QueryParam("categories") Set<String> categories,
@@ -48,9 +54,10 @@ public class PluginsEndpoint {
       @QueryParam("maintainers") Set<String> maintainers,
       @QueryParam("core")String core,
       @DefaultValue("50") @QueryParam("limit") int limit,
-      @DefaultValue("1") @QueryParam("page") int page) {
+      @DefaultValue("1") @QueryParam("page") int page,
+      @QueryParam("fields") Set<String> fields) {
     try {
-      return datastoreService.search(
+      return doSearch(
         new SearchOptions.Builder()
           .withQuery(query)
           .withSortBy(sortBy)
@@ -60,6 +67,7 @@ public class PluginsEndpoint {
           .withCore(core)
           .withLimit(limit)
           .withPage(page)
+          .withFields(fields)
           .build()
       );
     } catch (ServiceException e) {
@@ -76,9 +84,10 @@ public class PluginsEndpoint {
    */
   @Path("/installed")
   @GET
-  public Plugins getMostInstalled(@DefaultValue("10") @QueryParam("limit") int limit) {
+  @DataVersioned(cacheCompressed = true)
+  public Response getMostInstalled(@DefaultValue("10") @QueryParam("limit") int limit) {
     try {
-      return datastoreService.search(
+      return doSearch(
         new SearchOptions.Builder()
           .withSortBy(SortBy.INSTALLED)
           .withLimit(limit)
@@ -100,9 +109,10 @@ public class PluginsEndpoint {
    */
   @Path("/new")
   @GET
-  public Plugins getNew(@DefaultValue("10") @QueryParam("limit") int limit) {
+  @DataVersioned(cacheCompressed = true)
+  public Response getNew(@DefaultValue("10") @QueryParam("limit") int limit) {
     try {
-      return datastoreService.search(
+      return doSearch(
         new SearchOptions.Builder()
           .withSortBy(SortBy.FIRST_RELEASE)
           .withLimit(limit)
@@ -122,9 +132,10 @@ public class PluginsEndpoint {
    */
   @Path("/updated")
   @GET
-  public Plugins getRecentlyUpdated(@DefaultValue("10") @QueryParam("limit") int limit) {
+  @DataVersioned(cacheCompressed = true)
+  public Response getRecentlyUpdated(@DefaultValue("10") @QueryParam("limit") int limit) {
     try {
-      return datastoreService.search(
+      return doSearch(
         new SearchOptions.Builder()
           .withSortBy(SortBy.UPDATED)
           .withLimit(limit)
@@ -144,9 +155,10 @@ public class PluginsEndpoint {
    */
   @Path("/trend")
   @GET
-  public Plugins getTrend(@DefaultValue("10") @QueryParam("limit") int limit) {
+  @DataVersioned(cacheCompressed = true)
+  public Response getTrend(@DefaultValue("10") @QueryParam("limit") int limit) {
     try {
-      return datastoreService.search(
+      return doSearch(
         new SearchOptions.Builder()
           .withSortBy(SortBy.TREND)
           .withLimit(limit)
@@ -158,4 +170,14 @@ public class PluginsEndpoint {
     }
   }
 
+  /**
+   * <p>Plugins limited to some fields are always written out as the stored JSON so the fields left out don't show up
+   * as <code>null</code></p>
+   */
+  private Response doSearch(SearchOptions searchOptions) {
+    return RawPluginMessageBodyWriter.PRESERIALIZED_RESPONSES || !searchOptions.getFields().isEmpty()
+      ? Response.ok(datastoreService.searchRaw(searchOptions)).build()
+      : Response.ok(datastoreService.search(searchOptions)).build();
+  }
+
 }
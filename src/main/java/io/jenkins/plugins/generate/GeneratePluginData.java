@@ -3,6 +3,9 @@ package io.jenkins.plugins.generate;
 import io.jenkins.plugins.commons.JsonObjectMapper;
 import io.jenkins.plugins.generate.parsers.*;
 import io.jenkins.plugins.models.*;
+import io.jenkins.plugins.services.HttpClientPool;
+import io.jenkins.plugins.services.PrerenderedWikiContent;
+import io.jenkins.plugins.services.impl.HttpClientWikiService;
 import io.jenkins.plugins.utils.VersionUtils;
 import org.apache.http.HttpEntity;
 import org.apache.http.StatusLine;
@@ -11,8 +14,6 @@ import org.apache.http.client.ResponseHandler;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
-import org.apache.http.util.EntityUtils;
-import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,6 +21,9 @@ import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import java.util.zip.GZIPOutputStream;
 
@@ -27,6 +31,10 @@ import java.util.zip.GZIPOutputStream;
  * <p>Responsible for generating plugin data that is indexed inside Elasticsearch.</p>
  *
  * <p>Most of the work happens inside each <code>PluginDataParser</code></p>
+ *
+ * <p>With <code>PRERENDER_WIKI=true</code> the wiki content of every plugin is also fetched and cleaned, using
+ * <code>PRERENDER_WIKI_THREADS</code> threads, and included in the data so it doesn't have to be fetched when
+ * serving</p>
  */
 public class GeneratePluginData {
 
@@ -34,46 +42,118 @@ public class GeneratePluginData {
 
   private static final String UPDATE_CENTER_JSON = "https://updates.jenkins.io/current/update-center.actual.json";
 
+  private static final boolean PRERENDER_WIKI = Boolean.valueOf(System.getenv().getOrDefault("PRERENDER_WIKI", "false"));
+  private static final int PRERENDER_WIKI_THREADS = Integer.valueOf(System.getenv().getOrDefault("PRERENDER_WIKI_THREADS", "8"));
+
   public static void main(String[] args) {
     final GeneratePluginData generatePluginData = new GeneratePluginData();
     generatePluginData.generate();
   }
 
   public void generate() {
-    final JSONObject updateCenterJson = getUpdateCenterJson();
-    final List<PluginDataParser> parsers = Arrays.asList(
-      new RootPluginDataParser(),
-      new LabelsPluginDataParser(),
-      new CategoriesPluginDataParser(),
-      new DependenciesPluginDataParser(updateCenterJson),
-      new ImpliedDependenciesCoreResourceParser(updateCenterJson),
-      new FirstReleasePluginDataParser(),
-      new MaintainersPluginDataParser(),
-      new ScmPluginDataParser(),
-      new SecurityWarningsPluginDataParser(updateCenterJson),
-      new StatsPluginDataParser(),
-      new WikiPluginDataParser()
-    );
-    final JSONObject pluginsJson = updateCenterJson.getJSONObject("plugins");
-    final List<Plugin> plugins = pluginsJson.keySet().stream()
-      .map(pluginsJson::getJSONObject)
+    final ExecutorService executor = Executors.newCachedThreadPool();
+    final List<PluginDataParser> parsers;
+    final UpdateCenter updateCenter;
+    try {
+      final CompletableFuture<UpdateCenter> updateCenterFuture = CompletableFuture.supplyAsync(this::getUpdateCenter, executor);
+      parsers = sortByDependencies(createParsers(updateCenterFuture, executor));
+      updateCenter = updateCenterFuture.join();
+    } finally {
+      executor.shutdown();
+    }
+    final List<Plugin> plugins = updateCenter.getPlugins().parallelStream()
       .map(pluginJson -> {
         final Plugin plugin = new Plugin();
         parsers.forEach(parser -> parser.parse(pluginJson, plugin));
         return plugin;
       })
       .collect(Collectors.toList());
+    if (PRERENDER_WIKI) {
+      prerenderWikiContent(plugins);
+    }
     writePluginsToFile(plugins);
   }
 
-  private JSONObject getUpdateCenterJson() {
-    final ResponseHandler<JSONObject> handler = httpResponse -> {
+  /**
+   * <p>Fetch and clean the wiki content of <code>plugins</code> with at most <code>PRERENDER_WIKI_THREADS</code>
+   * requests in flight</p>
+   */
+  private void prerenderWikiContent(List<Plugin> plugins) {
+    logger.info("Begin pre-rendering wiki content");
+    final HttpClientPool httpClientPool = new HttpClientPool();
+    final HttpClientWikiService wikiService = new HttpClientWikiService(httpClientPool, new PrerenderedWikiContent());
+    wikiService.postConstruct();
+    final ExecutorService executor = Executors.newFixedThreadPool(PRERENDER_WIKI_THREADS);
+    try {
+      final CompletableFuture<?>[] futures = plugins.stream()
+        .filter(plugin -> plugin.getWiki() != null && plugin.getWiki().getUrl() != null)
+        .map(plugin -> CompletableFuture.runAsync(() -> {
+          try {
+            plugin.getWiki().setContent(wikiService.fetchWikiContent(plugin.getWiki().getUrl()));
+          } catch (Exception e) {
+            logger.warn(String.format("Problem pre-rendering wiki content for %s", plugin.getName()), e);
+          }
+        }, executor))
+        .toArray(CompletableFuture[]::new);
+      CompletableFuture.allOf(futures).join();
+      final long rendered = plugins.stream().filter(plugin -> plugin.getWiki() != null && plugin.getWiki().getContent() != null).count();
+      logger.info(String.format("Pre-rendered wiki content for %d of %d plugins", rendered, futures.length));
+    } finally {
+      executor.shutdown();
+      wikiService.preDestroy();
+      httpClientPool.close();
+    }
+  }
+
+  /**
+   * <p>Create every <code>PluginDataParser</code> concurrently</p>
+   *
+   * <p>Most parsers download or clone their source data when created so setup takes as long as the slowest source
+   * rather than the sum of all of them</p>
+   */
+  private List<PluginDataParser> createParsers(CompletableFuture<UpdateCenter> updateCenter, ExecutorService executor) {
+    final List<CompletableFuture<? extends PluginDataParser>> parsers = Arrays.asList(
+      CompletableFuture.supplyAsync(RootPluginDataParser::new, executor),
+      CompletableFuture.supplyAsync(LabelsPluginDataParser::new, executor),
+      CompletableFuture.supplyAsync(CategoriesPluginDataParser::new, executor),
+      updateCenter.thenApplyAsync(DependenciesPluginDataParser::new, executor),
+      updateCenter.thenApplyAsync(ImpliedDependenciesCoreResourceParser::new, executor),
+      CompletableFuture.supplyAsync(FirstReleasePluginDataParser::new, executor),
+      CompletableFuture.supplyAsync(MaintainersPluginDataParser::new, executor),
+      CompletableFuture.supplyAsync(ScmPluginDataParser::new, executor),
+      updateCenter.thenApplyAsync(SecurityWarningsPluginDataParser::new, executor),
+      CompletableFuture.supplyAsync(StatsPluginDataParser::new, executor),
+      CompletableFuture.supplyAsync(WikiPluginDataParser::new, executor)
+    );
+    return parsers.stream().map(CompletableFuture::join).collect(Collectors.toList());
+  }
+
+  /**
+   * <p>Order <code>parsers</code> so each comes after the parsers it depends on, otherwise keeping the given order</p>
+   */
+  private List<PluginDataParser> sortByDependencies(List<PluginDataParser> parsers) {
+    final List<PluginDataParser> sorted = new ArrayList<>(parsers.size());
+    final Set<Class<? extends PluginDataParser>> applied = new HashSet<>();
+    final List<PluginDataParser> remaining = new ArrayList<>(parsers);
+    while (!remaining.isEmpty()) {
+      final PluginDataParser next = remaining.stream()
+        .filter(parser -> applied.containsAll(parser.getDependencies()))
+        .findFirst()
+        .orElseThrow(() -> new IllegalStateException("Unsatisfiable parser dependencies for " + remaining));
+      remaining.remove(next);
+      sorted.add(next);
+      applied.add(next.getClass());
+    }
+    return sorted;
+  }
+
+  private UpdateCenter getUpdateCenter() {
+    final ResponseHandler<UpdateCenter> handler = httpResponse -> {
       final StatusLine status = httpResponse.getStatusLine();
       if (status.getStatusCode() == 200) {
         final HttpEntity entity = httpResponse.getEntity();
-        final String content = EntityUtils.toString(entity, StandardCharsets.UTF_8);
         try {
-          return new JSONObject(content);
+          return UpdateCenter.parse(entity.getContent());
         } catch (Exception e) {
           logger.error("Update center returned invalid JSON", e);
           throw new ClientProtocolException("Update center returned invalid JSON");
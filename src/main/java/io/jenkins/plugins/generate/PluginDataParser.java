@@ -3,6 +3,9 @@ package io.jenkins.plugins.generate;
 import io.jenkins.plugins.models.Plugin;
 import org.json.JSONObject;
 
+import java.util.Collections;
+import java.util.Set;
+
 /**
  * <p>Contract for parsing pieces of <code>pluginJson</code> and applying them to <code>plugin</code></p>
  */
@@ -16,4 +19,13 @@ public interface PluginDataParser {
      */
   void parse(JSONObject pluginJson, Plugin plugin);
 
+  /**
+   * <p>Parsers that have to be applied to a plugin before this one because it reads what they set</p>
+   *
+   * @return parser types this parser depends on
+   */
+  default Set<Class<? extends PluginDataParser>> getDependencies() {
+    return Collections.emptySet();
+  }
+
 }
@@ -0,0 +1,129 @@
+package io.jenkins.plugins.generate;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jenkins.plugins.commons.JsonObjectMapper;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * <p>The parts of <code>update-center.actual.json</code> needed to generate plugin data</p>
+ *
+ * <p>The JSON is read with a streaming parser straight from the response so parsing overlaps with the download, and
+ * sections that aren't needed are skipped without being built. Each plugin is read straight into its own
+ * <code>JSONObject</code> for the <code>PluginDataParser</code>s, so the plugins, most of the document, are all held
+ * until generation is done. Lookup tables shared between parsers are built once here.</p>
+ */
+public class UpdateCenter {
+
+  private final List<JSONObject> plugins;
+  private final Map<String, String> pluginNameToTitleMap;
+  private final JSONArray warnings;
+
+  private UpdateCenter(List<JSONObject> plugins, JSONArray warnings) {
+    this.plugins = Collections.unmodifiableList(plugins);
+    this.warnings = warnings;
+    final Map<String, String> pluginNameToTitleMap = new HashMap<>();
+    plugins.forEach(plugin -> pluginNameToTitleMap.put(plugin.getString("name"), plugin.getString("title")));
+    this.pluginNameToTitleMap = Collections.unmodifiableMap(pluginNameToTitleMap);
+  }
+
+  /**
+   * <p>Read the update center JSON from <code>inputStream</code></p>
+   *
+   * @param inputStream update center JSON
+   * @return parsed update center
+   * @throws IOException in case the JSON can't be read or isn't an object
+   */
+  public static UpdateCenter parse(InputStream inputStream) throws IOException {
+    final ObjectMapper mapper = JsonObjectMapper.getObjectMapper();
+    final List<JSONObject> plugins = new ArrayList<>();
+    JSONArray warnings = new JSONArray();
+    try (final JsonParser parser = mapper.getFactory().createParser(inputStream)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new IOException("Update center JSON isn't an object");
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String field = parser.getCurrentName();
+        final JsonToken token = parser.nextToken();
+        if (field.equals("plugins") && token == JsonToken.START_OBJECT) {
+          while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+              plugins.add((JSONObject) readValue(parser));
+            } else {
+              parser.skipChildren();
+            }
+          }
+        } else if (field.equals("warnings") && token == JsonToken.START_ARRAY) {
+          warnings = (JSONArray) readValue(parser);
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+    return new UpdateCenter(plugins, warnings);
+  }
+
+  /**
+   * <p>Build the value at the current token of <code>parser</code> as <code>org.json</code> values, with no tree in
+   * between. Like <code>new JSONObject(Map)</code>, null fields are left out of objects but kept in arrays.</p>
+   */
+  private static Object readValue(JsonParser parser) throws IOException {
+    switch (parser.getCurrentToken()) {
+      case START_OBJECT:
+        final JSONObject object = new JSONObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          final String name = parser.getCurrentName();
+          parser.nextToken();
+          final Object value = readValue(parser);
+          if (value != JSONObject.NULL) {
+            object.put(name, value);
+          }
+        }
+        return object;
+      case START_ARRAY:
+        final JSONArray array = new JSONArray();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+          array.put(readValue(parser));
+        }
+        return array;
+      case VALUE_STRING:
+        return parser.getText();
+      case VALUE_NUMBER_INT:
+      case VALUE_NUMBER_FLOAT:
+        return parser.getNumberValue();
+      case VALUE_TRUE:
+        return Boolean.TRUE;
+      case VALUE_FALSE:
+        return Boolean.FALSE;
+      case VALUE_NULL:
+        return JSONObject.NULL;
+      default:
+        throw new IOException("Unexpected token in update center JSON: " + parser.getCurrentToken());
+    }
+  }
+
+  /**
+   * @return JSON of each plugin in the update center
+   */
+  public List<JSONObject> getPlugins() {
+    return plugins;
+  }
+
+  /**
+   * @return plugin name to plugin title
+   */
+  public Map<String, String> getPluginNameToTitleMap() {
+    return pluginNameToTitleMap;
+  }
+
+  public JSONArray getWarnings() {
+    return warnings;
+  }
+
+}
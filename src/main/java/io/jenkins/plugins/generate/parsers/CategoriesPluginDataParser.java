@@ -10,6 +10,7 @@ import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -30,6 +31,11 @@ public class CategoriesPluginDataParser implements PluginDataParser {
       .collect(Collectors.toSet()));
   }
 
+  @Override
+  public Set<Class<? extends PluginDataParser>> getDependencies() {
+    return Collections.singleton(LabelsPluginDataParser.class);
+  }
+
   private Map<String, String> buildLabelToCategoryMap() {
     try {
       final ClassLoader cl = getClass().getClassLoader();
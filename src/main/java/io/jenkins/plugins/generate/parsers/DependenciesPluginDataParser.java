@@ -1,6 +1,7 @@
 package io.jenkins.plugins.generate.parsers;
 
 import io.jenkins.plugins.generate.PluginDataParser;
+import io.jenkins.plugins.generate.UpdateCenter;
 import io.jenkins.plugins.models.Dependency;
 import io.jenkins.plugins.models.Plugin;
 import org.json.JSONObject;
@@ -13,9 +14,8 @@ public class DependenciesPluginDataParser implements PluginDataParser {
 
   private final Map<String, String> dependencyNameToTitleMap;
 
-  public DependenciesPluginDataParser(JSONObject updateCenterJson) {
-    final JSONObject pluginsJson = updateCenterJson.getJSONObject("plugins");
-    dependencyNameToTitleMap = buildDependencyNameToTitleMap(pluginsJson);
+  public DependenciesPluginDataParser(UpdateCenter updateCenter) {
+    dependencyNameToTitleMap = updateCenter.getPluginNameToTitleMap();
   }
 
   @Override
@@ -34,10 +34,4 @@ public class DependenciesPluginDataParser implements PluginDataParser {
       }).collect(Collectors.toList()));
   }
 
-  private Map<String, String> buildDependencyNameToTitleMap(JSONObject pluginsJson) {
-    return pluginsJson.keySet().stream()
-      .map(pluginsJson::getJSONObject)
-      .collect(Collectors.toMap(plugin -> plugin.getString("name"), plugin -> plugin.getString("title")));
-  }
-
 }
@@ -2,6 +2,7 @@ package io.jenkins.plugins.generate.parsers;
 
 import hudson.util.VersionNumber;
 import io.jenkins.plugins.generate.PluginDataParser;
+import io.jenkins.plugins.generate.UpdateCenter;
 import io.jenkins.plugins.models.Dependency;
 import io.jenkins.plugins.models.Plugin;
 import org.apache.commons.io.IOUtils;
@@ -10,10 +11,7 @@ import org.json.JSONObject;
 import java.io.IOException;
 import java.net.URL;
 import java.nio.charset.Charset;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.*;
 
 /**
  * Adds implied dependencies to detached plugins if a plugin's core dependency is old.
@@ -30,9 +28,8 @@ public class ImpliedDependenciesCoreResourceParser implements PluginDataParser {
 
   private List<Detachment> detachments = new ArrayList<>();
 
-  public ImpliedDependenciesCoreResourceParser(JSONObject updateCenterJson) {
-    final JSONObject pluginsJson = updateCenterJson.getJSONObject("plugins");
-    dependencyNameToTitleMap = buildDependencyNameToTitleMap(pluginsJson);
+  public ImpliedDependenciesCoreResourceParser(UpdateCenter updateCenter) {
+    dependencyNameToTitleMap = updateCenter.getPluginNameToTitleMap();
 
     String dataUrl = "https://raw.githubusercontent.com/jenkinsci/jenkins/master/core/src/main/resources/jenkins/split-plugins.txt";
     try {
@@ -64,9 +61,9 @@ public class ImpliedDependenciesCoreResourceParser implements PluginDataParser {
     plugin.addDependencies(impliedDependencies);
   }
 
-  private Map<String, String> buildDependencyNameToTitleMap(JSONObject pluginsJson) {
-    return pluginsJson.keySet().stream()
-      .map(pluginsJson::getJSONObject)
-      .collect(Collectors.toMap(plugin -> plugin.getString("name"), plugin -> plugin.getString("title")));
+  @Override
+  public Set<Class<? extends PluginDataParser>> getDependencies() {
+    // Needs name and requiredCore, implied dependencies are added after the declared ones
+    return new HashSet<>(Arrays.asList(RootPluginDataParser.class, DependenciesPluginDataParser.class));
   }
 }
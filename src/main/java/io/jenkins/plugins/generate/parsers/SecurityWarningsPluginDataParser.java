@@ -1,6 +1,7 @@
 package io.jenkins.plugins.generate.parsers;
 
 import io.jenkins.plugins.generate.PluginDataParser;
+import io.jenkins.plugins.generate.UpdateCenter;
 import io.jenkins.plugins.models.Plugin;
 import io.jenkins.plugins.models.SecurityWarning;
 import io.jenkins.plugins.models.SecurityWarningVersion;
@@ -15,8 +16,8 @@ public class SecurityWarningsPluginDataParser implements PluginDataParser {
 
   private final Map<String, List<JSONObject>> nameToWarningsMap;
 
-  public SecurityWarningsPluginDataParser(JSONObject updateCenterJson) {
-    final JSONArray warningsJson = updateCenterJson.getJSONArray("warnings");
+  public SecurityWarningsPluginDataParser(UpdateCenter updateCenter) {
+    final JSONArray warningsJson = updateCenter.getWarnings();
     nameToWarningsMap = StreamSupport.stream(warningsJson.spliterator(), false)
       .map(obj -> (JSONObject)obj)
       .filter(warning -> warning.getString("type").equalsIgnoreCase("plugin"))
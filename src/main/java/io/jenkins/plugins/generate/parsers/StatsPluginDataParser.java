@@ -2,40 +2,128 @@ package io.jenkins.plugins.generate.parsers;
 
 import io.jenkins.plugins.generate.PluginDataParser;
 import io.jenkins.plugins.models.*;
+import org.apache.commons.lang3.StringUtils;
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.transport.RefSpec;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
+/**
+ * <p>Applies installation statistics from jenkins-infra/infra-statistics</p>
+ *
+ * <p>Statistics are kept in <code>STATS_CACHE_DIR</code> between runs. Only <code>plugin-installation-trend</code> is
+ * checked out and later runs just fetch what changed. With <code>STATS_OFFLINE=true</code> the existing checkout is
+ * used as is and with <code>STATS_ARCHIVE</code> the statistics are extracted from a zip of the repository
+ * instead.</p>
+ */
 public class StatsPluginDataParser implements PluginDataParser {
 
   private static final Logger logger = LoggerFactory.getLogger(StatsPluginDataParser.class);
 
+  private static final String REPOSITORY_URL = "git://github.com/jenkins-infra/infra-statistics.git";
+  private static final String BRANCH = "gh-pages";
+  private static final String TREND_DIRECTORY = "plugin-installation-trend";
+
   private final Path statisticsPath;
 
   public StatsPluginDataParser() {
     try {
-      statisticsPath = Files.createTempDirectory("infra-statistics");
-      logger.info("Cloning jenkins-infra/infra-statistics");
-      Git.cloneRepository().setURI("git://github.com/jenkins-infra/infra-statistics.git").setBranch("gh-pages").setDirectory(statisticsPath.toFile()).call();
-      logger.info("Finished cloning jenkins-infra/infra-statistics");
+      statisticsPath = Paths.get(System.getenv().getOrDefault("STATS_CACHE_DIR",
+        Paths.get(System.getProperty("java.io.tmpdir"), "infra-statistics").toString())).toAbsolutePath().normalize();
+      final String archive = StringUtils.trimToNull(System.getenv("STATS_ARCHIVE"));
+      if (archive != null) {
+        extractArchive(Paths.get(archive));
+      } else if (Boolean.valueOf(System.getenv().getOrDefault("STATS_OFFLINE", "false"))) {
+        if (!Files.isDirectory(statisticsPath.resolve(TREND_DIRECTORY))) {
+          throw new IllegalStateException(String.format("No statistics checkout in %s", statisticsPath));
+        }
+        logger.info(String.format("Using existing statistics in %s", statisticsPath));
+      } else {
+        updateCheckout();
+      }
     } catch (Exception e) {
       logger.error("Problem downloading plugin statistics", e);
       throw new RuntimeException(e);
     }
   }
 
+  private void updateCheckout() throws IOException, GitAPIException {
+    if (Files.isDirectory(statisticsPath.resolve(".git"))) {
+      logger.info(String.format("Fetching jenkins-infra/infra-statistics into %s", statisticsPath));
+      try (final Git git = Git.open(statisticsPath.toFile())) {
+        try {
+          // The clone leaves the default refspec of every branch in the config, fetch only the one we need
+          git.fetch()
+            .setRemote("origin")
+            .setRefSpecs(new RefSpec(String.format("+refs/heads/%s:refs/remotes/origin/%s", BRANCH, BRANCH)))
+            .call();
+        } catch (GitAPIException e) {
+          logger.warn("Problem fetching jenkins-infra/infra-statistics, using existing checkout", e);
+        }
+        checkoutTrends(git);
+      }
+      logger.info("Finished fetching jenkins-infra/infra-statistics");
+    } else {
+      logger.info(String.format("Cloning jenkins-infra/infra-statistics into %s", statisticsPath));
+      try (final Git git = Git.cloneRepository()
+        .setURI(REPOSITORY_URL)
+        .setBranch(BRANCH)
+        .setBranchesToClone(Collections.singleton("refs/heads/" + BRANCH))
+        .setNoCheckout(true)
+        .setDirectory(statisticsPath.toFile())
+        .call()) {
+        checkoutTrends(git);
+      }
+      logger.info("Finished cloning jenkins-infra/infra-statistics");
+    }
+  }
+
+  /**
+   * <p>Only the trend files are read so nothing else from the branch is written to disk</p>
+   */
+  private void checkoutTrends(Git git) throws GitAPIException {
+    git.checkout().setStartPoint("origin/" + BRANCH).addPath(TREND_DIRECTORY).call();
+  }
+
+  private void extractArchive(Path archive) throws IOException {
+    logger.info(String.format("Extracting statistics from %s into %s", archive, statisticsPath));
+    try (final ZipInputStream zip = new ZipInputStream(Files.newInputStream(archive))) {
+      ZipEntry entry;
+      while ((entry = zip.getNextEntry()) != null) {
+        // Archives of the repository usually have everything under a top level directory
+        final int start = entry.getName().indexOf(TREND_DIRECTORY + "/");
+        if (entry.isDirectory() || start < 0) {
+          continue;
+        }
+        final Path target = statisticsPath.resolve(entry.getName().substring(start)).normalize();
+        if (!target.startsWith(statisticsPath)) {
+          continue;
+        }
+        Files.createDirectories(target.getParent());
+        Files.copy(zip, target, StandardCopyOption.REPLACE_EXISTING);
+      }
+    }
+  }
+
   @Override
   public void parse(JSONObject pluginJson, Plugin plugin) {
     final String name = pluginJson.getString("name");
     try {
-      final Path file = statisticsPath.resolve(String.format("plugin-installation-trend%c%s.stats.json", File.separatorChar, name));
+      final Path file = statisticsPath.resolve(String.format("%s%c%s.stats.json", TREND_DIRECTORY, File.separatorChar, name));
       final Stats stats = new Stats();
       if (Files.exists(file)) {
         logger.info(String.format("Processing statistics for %s", name));
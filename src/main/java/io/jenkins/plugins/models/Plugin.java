@@ -132,6 +132,19 @@ public class Plugin {
     this.firstRelease = firstRelease;
   }
 
+  /**
+   * <p>Shallow copy of <code>plugin</code>. The wiki is copied as well since its content is filled in per request</p>
+   *
+   * @param plugin Plugin to copy
+   */
+  public Plugin(Plugin plugin) {
+    this(plugin.buildDate, plugin.categories, plugin.dependencies, plugin.maintainers, plugin.excerpt, plugin.gav,
+      plugin.labels, plugin.name, plugin.previousTimestamp, plugin.previousVersion, plugin.releaseTimestamp,
+      plugin.requiredCore, plugin.scm, plugin.sha1, plugin.stats, plugin.title, plugin.url, plugin.version,
+      plugin.securityWarnings, plugin.wiki != null ? new Wiki(plugin.wiki.getContent(), plugin.wiki.getUrl()) : null,
+      plugin.firstRelease);
+  }
+
   public LocalDate getBuildDate() {
     return buildDate;
   }
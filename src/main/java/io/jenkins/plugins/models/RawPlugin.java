@@ -0,0 +1,33 @@
+package io.jenkins.plugins.models;
+
+/**
+ * <p>Plugin as the JSON stored at index time</p>
+ *
+ * <p>The wiki is kept apart from the rest of the document so its content can be filled in per request without
+ * parsing the plugin again</p>
+ *
+ * @see io.jenkins.plugins.web.RawPluginMessageBodyWriter
+ */
+public final class RawPlugin {
+
+  private final byte[] json;
+  private final Wiki wiki;
+
+  /**
+   * @param json UTF-8 encoded JSON object of the plugin, without its wiki
+   * @param wiki Wiki of the plugin, null if it has none
+   */
+  public RawPlugin(byte[] json, Wiki wiki) {
+    this.json = json;
+    this.wiki = wiki;
+  }
+
+  public byte[] getJson() {
+    return json;
+  }
+
+  public Wiki getWiki() {
+    return wiki;
+  }
+
+}
@@ -0,0 +1,49 @@
+package io.jenkins.plugins.models;
+
+import java.util.List;
+
+/**
+ * <p>Same envelope as <code>Plugins</code> but with each plugin kept as the JSON stored at index time</p>
+ *
+ * @see io.jenkins.plugins.web.RawPluginsMessageBodyWriter
+ */
+public final class RawPlugins {
+
+  private final List<byte[]> plugins;
+  private final int page;
+  private final long pages;
+  private final long total;
+  private final int limit;
+
+  /**
+   * @param plugins UTF-8 encoded JSON object of each plugin
+   */
+  public RawPlugins(List<byte[]> plugins, int page, long pages, long total, int limit) {
+    this.plugins = plugins;
+    this.page = page;
+    this.pages = pages;
+    this.total = total;
+    this.limit = limit;
+  }
+
+  public List<byte[]> getPlugins() {
+    return plugins;
+  }
+
+  public int getPage() {
+    return page;
+  }
+
+  public long getPages() {
+    return pages;
+  }
+
+  public long getTotal() {
+    return total;
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+}
@@ -1,23 +1,36 @@
 package io.jenkins.plugins.models;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.List;
 
+/**
+ * <p>Installation statistics of a plugin</p>
+ *
+ * <p>The time series are only filled in by the generator and <code>/plugin/{name}/stats</code>. Plugins as indexed and
+ * searched only carry <code>currentInstalls</code> and <code>trend</code>.</p>
+ *
+ * @see io.jenkins.plugins.services.PluginStatsStore
+ */
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class Stats {
 
   @JsonProperty("installations")
+  @JsonInclude(JsonInclude.Include.NON_NULL)
   private List<Installation> installations;
 
   @JsonProperty("installationsPercentage")
+  @JsonInclude(JsonInclude.Include.NON_NULL)
   private List<InstallationPercentage> installationsPercentage;
 
   @JsonProperty("installationsPerVersion")
+  @JsonInclude(JsonInclude.Include.NON_NULL)
   private List<InstallationVersion> installationsPerVersion;
 
   @JsonProperty("installationsPercentagePerVersion")
+  @JsonInclude(JsonInclude.Include.NON_NULL)
   private List<InstallationPercentageVersion> installationsPercentagePerVersion;
 
   @JsonProperty("currentInstalls")
@@ -1,9 +1,14 @@
 package io.jenkins.plugins.services;
 
+import io.jenkins.plugins.datastore.DatastoreType;
 import io.jenkins.plugins.services.impl.DefaultConfigurationService;
 import io.jenkins.plugins.services.impl.ElasticsearchDatastoreService;
 import io.jenkins.plugins.services.impl.ElasticsearchPrepareDatastoreService;
 import io.jenkins.plugins.services.impl.HttpClientWikiService;
+import io.jenkins.plugins.services.impl.LuceneDatastoreService;
+import io.jenkins.plugins.services.impl.LucenePrepareDatastoreService;
+import io.jenkins.plugins.services.impl.MemoryDatastoreService;
+import io.jenkins.plugins.services.impl.MemoryPrepareDatastoreService;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
 
 import javax.inject.Singleton;
@@ -14,20 +19,59 @@ import javax.inject.Singleton;
  * <p>Binds</p>
  * <ul>
  *   <li><code>DefaultConfigurationService</code> to <code>ConfigurationService</code>  as a <code>Singleton</code></li>
- *   <li><code>ElasticsearchDatastoreService</code> to <code>DatastoreService</code> as a <code>Singleton</code></li>
+ *   <li><code>ElasticsearchDatastoreService</code>, <code>LuceneDatastoreService</code> or
+ *   <code>MemoryDatastoreService</code>, depending on the <code>DatastoreType</code>, to
+ *   <code>DatastoreService</code> as a <code>Singleton</code></li>
+ *   <li><code>ElasticsearchPrepareDatastoreService</code>, <code>LucenePrepareDatastoreService</code> or
+ *   <code>MemoryPrepareDatastoreService</code>, depending on the <code>DatastoreType</code>, to
+ *   <code>PrepareDatastoreService</code> as a <code>Singleton</code></li>
  *   <li><code>HttpClientWikiService</code> to <code>WikiService</code> as a <code>Singleton</code></li>
+ *   <li><code>HttpClientPool</code> to itself as a <code>Singleton</code></li>
+ *   <li><code>PrerenderedWikiContent</code> to itself as a <code>Singleton</code></li>
+ *   <li><code>PluginStatsStore</code> to itself as a <code>Singleton</code></li>
  * </ul>
  *
+ * @see DatastoreType
  * @see ElasticsearchDatastoreService
+ * @see HttpClientPool
  * @see HttpClientWikiService
+ * @see LuceneDatastoreService
+ * @see MemoryDatastoreService
+ * @see PluginStatsStore
  */
 public class Binder extends AbstractBinder {
 
+  private final DatastoreType datastoreType;
+
+  public Binder() {
+    this(DatastoreType.fromEnvironment());
+  }
+
+  public Binder(DatastoreType datastoreType) {
+    this.datastoreType = datastoreType;
+  }
+
   @Override
   protected void configure() {
     bind(DefaultConfigurationService.class).to(ConfigurationService.class).in(Singleton.class);
-    bind(ElasticsearchDatastoreService.class).to(DatastoreService.class).in(Singleton.class);
+    switch (datastoreType) {
+      case LUCENE:
+        bind(LuceneDatastoreService.class).to(DatastoreService.class).in(Singleton.class);
+        bind(LucenePrepareDatastoreService.class).to(PrepareDatastoreService.class).in(Singleton.class);
+        break;
+      case MEMORY:
+        bind(MemoryDatastoreService.class).to(DatastoreService.class).in(Singleton.class);
+        bind(MemoryPrepareDatastoreService.class).to(PrepareDatastoreService.class).in(Singleton.class);
+        break;
+      case ELASTICSEARCH:
+      default:
+        bind(ElasticsearchDatastoreService.class).to(DatastoreService.class).in(Singleton.class);
+        bind(ElasticsearchPrepareDatastoreService.class).to(PrepareDatastoreService.class).in(Singleton.class);
+        break;
+    }
     bind(HttpClientWikiService.class).to(WikiService.class).in(Singleton.class);
-    bind(ElasticsearchPrepareDatastoreService.class).to(PrepareDatastoreService.class).in(Singleton.class);
+    bind(HttpClientPool.class).to(HttpClientPool.class).in(Singleton.class);
+    bind(PrerenderedWikiContent.class).to(PrerenderedWikiContent.class).in(Singleton.class);
+    bind(PluginStatsStore.class).to(PluginStatsStore.class).in(Singleton.class);
   }
 }
@@ -1,7 +1,5 @@
 package io.jenkins.plugins.services;
 
-import io.jenkins.plugins.models.GeneratedPluginData;
-
 /**
  * <p>Get various configuration pieces for the application</p>
  */
@@ -10,9 +8,11 @@ public interface ConfigurationService {
   /**
    * <p>Get index data need to populating Elasticsearch</p>
    *
-   * @return GeneratedPluginData, null if it hasn't changed since last time called
+   * <p>The caller is responsible for closing the returned file</p>
+   *
+   * @return PluginDataFile, null if it hasn't changed since last time called
    * @throws ServiceException in case something goes wrong
      */
-  GeneratedPluginData getIndexData() throws ServiceException;
+  PluginDataFile getIndexData() throws ServiceException;
 
 }
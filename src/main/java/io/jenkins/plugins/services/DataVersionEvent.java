@@ -0,0 +1,36 @@
+package io.jenkins.plugins.services;
+
+import java.time.LocalDateTime;
+
+/**
+ * <p>A new data version has been indexed</p>
+ *
+ * @see DataVersionListener
+ */
+public class DataVersionEvent {
+
+  private final LocalDateTime createdAt;
+  private final int pluginCount;
+
+  public DataVersionEvent(LocalDateTime createdAt, int pluginCount) {
+    this.createdAt = createdAt;
+    this.pluginCount = pluginCount;
+  }
+
+  /**
+   * @return creation time of the plugin data, identifies the data version
+   */
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public int getPluginCount() {
+    return pluginCount;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s (%d plugins)", createdAt, pluginCount);
+  }
+
+}
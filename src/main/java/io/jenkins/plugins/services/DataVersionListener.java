@@ -0,0 +1,30 @@
+package io.jenkins.plugins.services;
+
+/**
+ * <p>Subscribes to new data versions published by a <code>PrepareDatastoreService</code></p>
+ *
+ * <p>Listeners are called on the thread populating the datastore. A listener throwing is logged and doesn't stop the
+ * data version from being published.</p>
+ *
+ * @see PrepareDatastoreService#addDataVersionListener(DataVersionListener)
+ */
+public interface DataVersionListener {
+
+  /**
+   * <p>Called once a new data version is indexed but before it's served, e.g. to warm it</p>
+   *
+   * @param event the new data version
+   * @param datastoreService searches the new data version
+   */
+  default void beforePublish(DataVersionEvent event, DatastoreService datastoreService) {
+  }
+
+  /**
+   * <p>Called once a new data version is served, e.g. to invalidate caches</p>
+   *
+   * @param event the new data version
+   */
+  default void afterPublish(DataVersionEvent event) {
+  }
+
+}
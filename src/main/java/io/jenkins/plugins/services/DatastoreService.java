@@ -17,6 +17,17 @@ public interface DatastoreService {
    */
   Plugins search(SearchOptions searchOptions) throws ServiceException;
 
+  /**
+   * <p>Search for plugins based on <code>SearchOptions</code>, keeping each match as the JSON stored at index
+   * time</p>
+   *
+   * @param searchOptions Various criteria for matching plugins
+   * @return matching plugins
+   * @throws ServiceException in case something goes wrong
+   * @see #search(SearchOptions)
+   */
+  RawPlugins searchRaw(SearchOptions searchOptions) throws ServiceException;
+
   /**
    * <p>Get a plugin by name</p>
    *
@@ -26,6 +37,16 @@ public interface DatastoreService {
    */
   Plugin getPlugin(String name) throws ServiceException;
 
+  /**
+   * <p>Get a plugin by name as the JSON stored at index time</p>
+   *
+   * @param name Plugin name
+   * @return matching plugin
+   * @throws ServiceException in case something goes wrong
+   * @see #getPlugin(String)
+   */
+  RawPlugin getRawPlugin(String name) throws ServiceException;
+
   /**
    * <p>Get unique categories for the application</p>
    *
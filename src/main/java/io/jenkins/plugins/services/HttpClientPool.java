@@ -0,0 +1,106 @@
+package io.jenkins.plugins.services;
+
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Shared <code>CloseableHttpClient</code> backed by a connection pool</p>
+ *
+ * <p>Connections are kept alive and reused between requests to the same host so only the first request pays for
+ * the TCP and TLS handshake. Pool sizes and timeouts can be configured with environment variables:</p>
+ * <ul>
+ *   <li><code>HTTP_MAX_CONNECTIONS</code> - total connections, default 50</li>
+ *   <li><code>HTTP_MAX_CONNECTIONS_PER_ROUTE</code> - connections per host, default 10</li>
+ *   <li><code>HTTP_CONNECT_TIMEOUT</code> - milliseconds, default 5000</li>
+ *   <li><code>HTTP_SOCKET_TIMEOUT</code> - milliseconds, default 5000</li>
+ *   <li><code>HTTP_CONNECTION_REQUEST_TIMEOUT</code> - milliseconds to wait for a pooled connection, default 5000</li>
+ *   <li><code>HTTP_KEEP_ALIVE</code> - milliseconds to keep an idle connection when the server doesn't say, default
+ *   30000</li>
+ * </ul>
+ */
+public class HttpClientPool {
+
+  private final Logger logger = LoggerFactory.getLogger(HttpClientPool.class);
+
+  private static final int MAX_CONNECTIONS = Integer.valueOf(System.getenv().getOrDefault("HTTP_MAX_CONNECTIONS", "50"));
+  private static final int MAX_CONNECTIONS_PER_ROUTE = Integer.valueOf(System.getenv().getOrDefault("HTTP_MAX_CONNECTIONS_PER_ROUTE", "10"));
+  private static final int CONNECT_TIMEOUT = Integer.valueOf(System.getenv().getOrDefault("HTTP_CONNECT_TIMEOUT", "5000"));
+  private static final int SOCKET_TIMEOUT = Integer.valueOf(System.getenv().getOrDefault("HTTP_SOCKET_TIMEOUT", "5000"));
+  private static final int CONNECTION_REQUEST_TIMEOUT = Integer.valueOf(System.getenv().getOrDefault("HTTP_CONNECTION_REQUEST_TIMEOUT", "5000"));
+  private static final long KEEP_ALIVE = Long.valueOf(System.getenv().getOrDefault("HTTP_KEEP_ALIVE", "30000"));
+
+  private final PoolingHttpClientConnectionManager connectionManager;
+  private final CloseableHttpClient httpClient;
+  private final AtomicLong requests = new AtomicLong();
+
+  public HttpClientPool() {
+    connectionManager = new PoolingHttpClientConnectionManager();
+    connectionManager.setMaxTotal(MAX_CONNECTIONS);
+    connectionManager.setDefaultMaxPerRoute(MAX_CONNECTIONS_PER_ROUTE);
+    final RequestConfig requestConfig = RequestConfig.copy(RequestConfig.DEFAULT)
+      .setConnectionRequestTimeout(CONNECTION_REQUEST_TIMEOUT)
+      .setConnectTimeout(CONNECT_TIMEOUT)
+      .setSocketTimeout(SOCKET_TIMEOUT)
+      .build();
+    final ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+      final long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+      return keepAlive > 0 ? keepAlive : KEEP_ALIVE;
+    };
+    final HttpRequestInterceptor requestCounter = (request, context) -> requests.incrementAndGet();
+    httpClient = HttpClients.custom()
+      .setConnectionManager(connectionManager)
+      .setDefaultRequestConfig(requestConfig)
+      .setKeepAliveStrategy(keepAliveStrategy)
+      .addInterceptorFirst(requestCounter)
+      .evictExpiredConnections()
+      .evictIdleConnections(KEEP_ALIVE, TimeUnit.MILLISECONDS)
+      .build();
+  }
+
+  /**
+   * <p>The shared client. Callers must close responses but never the client itself.</p>
+   */
+  public CloseableHttpClient getHttpClient() {
+    return httpClient;
+  }
+
+  /**
+   * @return connection leasing statistics of the pool
+   */
+  public Map<String, Object> getStats() {
+    final PoolStats stats = connectionManager.getTotalStats();
+    final Map<String, Object> result = new HashMap<>();
+    result.put("leased", stats.getLeased());
+    result.put("pending", stats.getPending());
+    result.put("available", stats.getAvailable());
+    result.put("max", stats.getMax());
+    result.put("routes", connectionManager.getRoutes().size());
+    result.put("requests", requests.get());
+    return result;
+  }
+
+  @PreDestroy
+  public void close() {
+    try {
+      httpClient.close();
+    } catch (IOException e) {
+      logger.warn("Problem closing HttpClient", e);
+    }
+  }
+
+}
@@ -0,0 +1,127 @@
+package io.jenkins.plugins.services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.jenkins.plugins.commons.JsonObjectMapper;
+import io.jenkins.plugins.models.GeneratedPluginData;
+import io.jenkins.plugins.models.Plugin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * <p>Gzipped plugin data file produced by <code>GeneratePluginData</code></p>
+ *
+ * <p>Only the header (<code>createdAt</code>, <code>mappingVersion</code> and <code>elasticsearchVersion</code>) is
+ * kept in memory. Plugins are parsed one at a time from the file by <code>forEachPlugin</code> so memory used while
+ * indexing doesn't grow with the size of the data.</p>
+ */
+public class PluginDataFile implements Closeable {
+
+  private final Logger logger = LoggerFactory.getLogger(PluginDataFile.class);
+
+  private static final String PLUGINS_FIELD = "plugins";
+
+  private final File file;
+  private final boolean temporary;
+  private final GeneratedPluginData header;
+
+  /**
+   * @param file gzipped plugin data
+   * @param temporary whether <code>file</code> should be deleted on close
+   * @throws IOException if the header can't be read
+   */
+  public PluginDataFile(File file, boolean temporary) throws IOException {
+    this.file = file;
+    this.temporary = temporary;
+    this.header = readHeader();
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return header.getCreatedAt();
+  }
+
+  public String getMappingVersion() {
+    return header.getMappingVersion();
+  }
+
+  public String getElasticsearchVersion() {
+    return header.getElasticsearchVersion();
+  }
+
+  /**
+   * <p>Parse plugins from the file handing each to <code>consumer</code> before the next is read</p>
+   *
+   * @param consumer receives each plugin in file order
+   * @return number of plugins read
+   * @throws IOException in case the file can't be read or parsed
+   */
+  public int forEachPlugin(Consumer<Plugin> consumer) throws IOException {
+    final ObjectMapper mapper = JsonObjectMapper.getObjectMapper();
+    int count = 0;
+    try (final JsonParser parser = createParser()) {
+      if (!moveToPlugins(parser)) {
+        return count;
+      }
+      while (parser.nextToken() == JsonToken.START_OBJECT) {
+        consumer.accept(mapper.readValue(parser, Plugin.class));
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Override
+  public void close() {
+    if (temporary && file.exists() && !file.delete()) {
+      logger.warn(String.format("Problem deleting plugin data file '%s'", file.getAbsolutePath()));
+    }
+  }
+
+  private GeneratedPluginData readHeader() throws IOException {
+    final ObjectMapper mapper = JsonObjectMapper.getObjectMapper();
+    final ObjectNode node = mapper.createObjectNode();
+    try (final JsonParser parser = createParser()) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new IOException("Plugin data doesn't start with an object");
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String field = parser.getCurrentName();
+        parser.nextToken();
+        if (PLUGINS_FIELD.equals(field)) {
+          parser.skipChildren();
+        } else {
+          node.set(field, mapper.readTree(parser));
+        }
+      }
+    }
+    return mapper.treeToValue(node, GeneratedPluginData.class);
+  }
+
+  private boolean moveToPlugins(JsonParser parser) throws IOException {
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      throw new IOException("Plugin data doesn't start with an object");
+    }
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final String field = parser.getCurrentName();
+      if (parser.nextToken() == JsonToken.START_ARRAY && PLUGINS_FIELD.equals(field)) {
+        return true;
+      }
+      parser.skipChildren();
+    }
+    return false;
+  }
+
+  private JsonParser createParser() throws IOException {
+    final JsonFactory factory = JsonObjectMapper.getObjectMapper().getFactory();
+    return factory.createParser(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))));
+  }
+
+}
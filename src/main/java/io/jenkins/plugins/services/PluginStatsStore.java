@@ -0,0 +1,86 @@
+package io.jenkins.plugins.services;
+
+import io.jenkins.plugins.commons.StatsCodec;
+import io.jenkins.plugins.models.Installation;
+import io.jenkins.plugins.models.InstallationPercentage;
+import io.jenkins.plugins.models.Stats;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * <p>Installation statistics of each plugin, time series included, keyed by plugin name</p>
+ *
+ * <p>The time series are taken out of the plugins before they're indexed so searches and lookups don't carry them.
+ * They're kept here encoded with <code>StatsCodec</code> instead and replaced as a whole whenever new plugin data is
+ * indexed.</p>
+ *
+ * @see StatsCodec
+ */
+public class PluginStatsStore {
+
+  private volatile Map<String, byte[]> stats = Collections.emptyMap();
+
+  /**
+   * @param name plugin name
+   * @param from only keep points at or after this timestamp, epoch millis. Unbounded when null
+   * @param to only keep points at or before this timestamp, epoch millis. Unbounded when null
+   * @param points keep at most this many evenly spaced points of each time series, always including the last one.
+   * Every point is kept when it's <code>0</code> or less
+   * @return statistics of <code>name</code>, null if it has none
+   */
+  public Stats get(String name, Long from, Long to, int points) {
+    final byte[] encoded = stats.get(name);
+    if (encoded == null) {
+      return null;
+    }
+    final Stats result = StatsCodec.decode(encoded);
+    if (result.getInstallations() != null) {
+      result.setInstallations(downsample(range(result.getInstallations(), Installation::getTimestamp, from, to), points));
+    }
+    if (result.getInstallationsPercentage() != null) {
+      result.setInstallationsPercentage(downsample(range(result.getInstallationsPercentage(), InstallationPercentage::getTimestamp, from, to), points));
+    }
+    return result;
+  }
+
+  /**
+   * @param stats plugin name to statistics encoded with <code>StatsCodec</code>
+   */
+  public void set(Map<String, byte[]> stats) {
+    this.stats = Collections.unmodifiableMap(stats);
+  }
+
+  public int size() {
+    return stats.size();
+  }
+
+  private static <T> List<T> range(List<T> series, ToLongFunction<T> timestamp, Long from, Long to) {
+    if (from == null && to == null) {
+      return series;
+    }
+    return series.stream()
+      .filter(point -> from == null || timestamp.applyAsLong(point) >= from)
+      .filter(point -> to == null || timestamp.applyAsLong(point) <= to)
+      .collect(Collectors.toList());
+  }
+
+  private static <T> List<T> downsample(List<T> series, int points) {
+    if (points <= 0 || series.size() <= points) {
+      return series;
+    }
+    if (points == 1) {
+      return Collections.singletonList(series.get(series.size() - 1));
+    }
+    final List<T> result = new ArrayList<>(points);
+    for (int i = 0; i < points; i++) {
+      result.add(series.get((int) Math.round((double) i * (series.size() - 1) / (points - 1))));
+    }
+    return result;
+  }
+
+}
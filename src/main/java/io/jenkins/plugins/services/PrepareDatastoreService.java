@@ -26,4 +26,13 @@ public interface PrepareDatastoreService {
    */
   LocalDateTime getCurrentCreatedAt();
 
+  /**
+   * <p>Subscribe to new data versions</p>
+   *
+   * @param listener told before and after each new data version is published
+   */
+  void addDataVersionListener(DataVersionListener listener);
+
+  void removeDataVersionListener(DataVersionListener listener);
+
 }
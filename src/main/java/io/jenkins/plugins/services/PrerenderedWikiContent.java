@@ -0,0 +1,63 @@
+package io.jenkins.plugins.services;
+
+import org.apache.commons.io.IOUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * <p>Wiki content rendered while generating the plugin data, keyed by wiki url</p>
+ *
+ * <p>Content is kept gzip compressed and replaced as a whole whenever new plugin data is indexed. When content for a
+ * url is available here it's served without contacting the wiki.</p>
+ */
+public class PrerenderedWikiContent {
+
+  private volatile Map<String, byte[]> content = Collections.emptyMap();
+
+  /**
+   * @param url wiki url
+   * @return content for <code>url</code>, null if it wasn't rendered
+   */
+  public String get(String url) {
+    final byte[] compressed = content.get(url);
+    return compressed != null ? decompress(compressed) : null;
+  }
+
+  /**
+   * @param content url to content compressed with <code>compress</code>
+   */
+  public void set(Map<String, byte[]> content) {
+    this.content = Collections.unmodifiableMap(content);
+  }
+
+  public int size() {
+    return content.size();
+  }
+
+  public static byte[] compress(String content) {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+      gzip.write(content.getBytes(StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static String decompress(byte[] compressed) {
+    try (final GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+      return IOUtils.toString(gzip, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+}
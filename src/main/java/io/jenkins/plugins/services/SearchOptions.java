@@ -3,6 +3,7 @@ package io.jenkins.plugins.services;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
@@ -22,6 +23,7 @@ public class SearchOptions {
     private String core;
     private Integer limit;
     private Integer page;
+    private Set<String> fields;
 
     public Builder() {
       this.query = null;
@@ -32,6 +34,7 @@ public class SearchOptions {
       this.core = null;
       this.limit = 50;
       this.page = 1;
+      this.fields = Collections.emptySet();
     }
 
     public Builder withQuery(String query) {
@@ -107,9 +110,27 @@ public class SearchOptions {
       return this;
     }
 
+    /**
+     * @param fields fields of each plugin to return, each value may hold several separated by commas. Every field is
+     *               returned if empty, the name always is.
+     */
+    public Builder withFields(Set<String> fields) {
+      this.fields = fields != null
+        ? fields.stream()
+            .flatMap(value -> Arrays.stream(value.split(",")))
+            .map(String::trim)
+            .filter(StringUtils::isNotBlank)
+            .collect(Collectors.toCollection(HashSet::new))
+        : Collections.emptySet();
+      if (!this.fields.isEmpty()) {
+        this.fields.add("name");
+      }
+      return this;
+    }
+
     public SearchOptions build() {
       return new SearchOptions(
-        query, sortBy, categories, labels, maintainers, core, limit, page
+        query, sortBy, categories, labels, maintainers, core, limit, page, fields
       );
     }
 
@@ -123,9 +144,10 @@ public class SearchOptions {
   private String core;
   private Integer limit;
   private Integer page;
+  private Set<String> fields;
 
   private SearchOptions(String query, SortBy sortBy, Set<String> categories, Set<String> labels, Set<String> maintainers,
-                       String core, Integer limit, Integer page) {
+                       String core, Integer limit, Integer page, Set<String> fields) {
     this.query = query;
     this.sortBy = sortBy;
     this.categories = categories;
@@ -134,6 +156,7 @@ public class SearchOptions {
     this.core = core;
     this.limit = limit;
     this.page = page;
+    this.fields = fields;
   }
 
   public String getQuery() {
@@ -168,6 +191,13 @@ public class SearchOptions {
     return page;
   }
 
+  /**
+   * @return fields of each plugin to return, every field if empty
+   */
+  public Set<String> getFields() {
+    return fields;
+  }
+
   public Boolean hasFilters() {
     return !getMaintainers().isEmpty() || !getCategories().isEmpty()
       || getCore() != null || !getLabels().isEmpty();
@@ -0,0 +1,146 @@
+package io.jenkins.plugins.services.impl;
+
+import io.jenkins.plugins.commons.JsonObjectMapper;
+import io.jenkins.plugins.datastore.PluginSnapshot;
+import io.jenkins.plugins.datastore.PluginSnapshotHolder;
+import io.jenkins.plugins.models.*;
+import io.jenkins.plugins.services.DatastoreService;
+import io.jenkins.plugins.services.ServiceException;
+import org.apache.commons.io.FileUtils;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>Parts of <code>DatastoreService</code> shared by every datastore</p>
+ *
+ * <p>Categories and label titles come from resources bundled with the application. Plugins are looked up in the
+ * current <code>PluginSnapshot</code> and maintainers, labels and versions come from its <code>FacetIndex</code>.</p>
+ */
+public abstract class AbstractDatastoreService implements DatastoreService {
+
+  private final Logger logger = LoggerFactory.getLogger(AbstractDatastoreService.class);
+
+  @Inject
+  protected PluginSnapshotHolder snapshotHolder;
+
+  private Categories categories;
+  private Map<String, String> labelTitleMap;
+
+  protected AbstractDatastoreService() {
+  }
+
+  /**
+   * <p>Datastore over <code>snapshot</code> only, used to warm a data version before it's published</p>
+   */
+  protected AbstractDatastoreService(PluginSnapshot snapshot) {
+    this.snapshotHolder = new PluginSnapshotHolder();
+    this.snapshotHolder.set(snapshot);
+    postConstruct();
+  }
+
+  @PostConstruct
+  public void postConstruct() {
+    this.categories = buildCategories();
+    this.labelTitleMap = buildLabelTitleMap();
+  }
+
+  /**
+   * <p>A copy is returned so callers can fill in per request data, e.g. wiki content, without touching the shared
+   * snapshot</p>
+   */
+  @Override
+  public Plugin getPlugin(String name) throws ServiceException {
+    final PluginSnapshot snapshot = snapshotHolder.get();
+    final Plugin plugin = snapshot != null ? snapshot.getPlugin(name) : null;
+    return plugin != null ? new Plugin(plugin) : null;
+  }
+
+  @Override
+  public RawPlugin getRawPlugin(String name) throws ServiceException {
+    final PluginSnapshot snapshot = snapshotHolder.get();
+    return snapshot != null ? snapshot.getRawPlugin(name) : null;
+  }
+
+  @Override
+  public Categories getCategories() throws ServiceException {
+    return categories;
+  }
+
+  @Override
+  public Maintainers getMaintainers() throws ServiceException {
+    final PluginSnapshot snapshot = snapshotHolder.get();
+    return new Maintainers(snapshot != null ? snapshot.getFacets().getMaintainers() : Collections.emptyList());
+  }
+
+  @Override
+  public Labels getLabels() throws ServiceException {
+    final PluginSnapshot snapshot = snapshotHolder.get();
+    if (snapshot == null) {
+      return new Labels(Collections.emptyList());
+    }
+    final List<Label> labels = snapshot.getFacets().getLabels().stream()
+      .map(key -> new Label(key, getLabelTitle(key)))
+      .collect(Collectors.toList());
+    return new Labels(labels);
+  }
+
+  @Override
+  public Versions getVersions() throws ServiceException {
+    final PluginSnapshot snapshot = snapshotHolder.get();
+    return new Versions(snapshot != null ? snapshot.getFacets().getRequiredCores() : Collections.emptyList());
+  }
+
+  /**
+   * @return title of <code>label</code>, null if it has none
+   */
+  protected String getLabelTitle(String label) {
+    return labelTitleMap.getOrDefault(label, null);
+  }
+
+  private Categories buildCategories() {
+    try {
+      final ClassLoader cl = getClass().getClassLoader();
+      final File file = new File(cl.getResource("categories.json").getFile());
+      final JSONArray json = new JSONObject(FileUtils.readFileToString(file, StandardCharsets.UTF_8)).getJSONArray("categories");
+      final List<Category> categories = StreamSupport.stream(json.spliterator(), false)
+        .map(obj -> {
+          try {
+            return JsonObjectMapper.getObjectMapper().readValue(obj.toString(), Category.class);
+          } catch (IOException e) {
+            return null;
+          }
+        }).filter(category -> category != null).collect(Collectors.toList());
+      return new Categories(categories);
+    } catch (Exception e) {
+      logger.error("Problem getting categories", e);
+      throw new ServiceException("Problem getting categories", e);
+    }
+  }
+
+  private Map<String, String> buildLabelTitleMap() {
+    try {
+      final ClassLoader cl = getClass().getClassLoader();
+      final File file = new File(cl.getResource("labels.json").getFile());
+      final JSONArray labels = new JSONObject(FileUtils.readFileToString(file, StandardCharsets.UTF_8)).getJSONArray("labels");
+      return StreamSupport.stream(labels.spliterator(), false)
+        .map(obj -> (JSONObject)obj)
+        .collect(Collectors.toMap(label -> label.getString("id"), label -> label.getString("title")));
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+}
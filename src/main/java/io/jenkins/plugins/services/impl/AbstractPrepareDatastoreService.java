@@ -0,0 +1,217 @@
+package io.jenkins.plugins.services.impl;
+
+import io.jenkins.plugins.commons.JsonObjectMapper;
+import io.jenkins.plugins.commons.StatsCodec;
+import io.jenkins.plugins.datastore.PluginSnapshot;
+import io.jenkins.plugins.datastore.PluginSnapshotHolder;
+import io.jenkins.plugins.models.Plugin;
+import io.jenkins.plugins.models.Stats;
+import io.jenkins.plugins.models.Wiki;
+import io.jenkins.plugins.services.ConfigurationService;
+import io.jenkins.plugins.services.DataVersionEvent;
+import io.jenkins.plugins.services.DataVersionListener;
+import io.jenkins.plugins.services.DatastoreService;
+import io.jenkins.plugins.services.PluginDataFile;
+import io.jenkins.plugins.services.PluginStatsStore;
+import io.jenkins.plugins.services.PrepareDatastoreService;
+import io.jenkins.plugins.services.PrerenderedWikiContent;
+import io.jenkins.plugins.utils.VersionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Parts of populating the datastore shared by every datastore</p>
+ *
+ * <p>Decides whether the plugin data is newer than what's being served, turns it into the documents to index and
+ * publishes the <code>PluginSnapshot</code> once the new data is visible. Subclasses only have to index.</p>
+ *
+ * <p><code>DataVersionListener</code>s are told about each new data version before and after it's published. Unless
+ * <code>WARM_SEARCHES</code> is set to <code>false</code> a <code>SearchWarmer</code> is always subscribed.</p>
+ *
+ * @see DataVersionListener
+ */
+public abstract class AbstractPrepareDatastoreService implements PrepareDatastoreService {
+
+  private final Logger logger = LoggerFactory.getLogger(AbstractPrepareDatastoreService.class);
+
+  protected static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy.MM.dd_HH.mm.ss");
+
+  private static final boolean WARM_SEARCHES = Boolean.valueOf(System.getenv().getOrDefault("WARM_SEARCHES", "true"));
+
+  private final ConfigurationService configurationService;
+  private final ScheduledExecutorService scheduledExecutorService;
+  private final PluginSnapshotHolder snapshotHolder;
+  private final PrerenderedWikiContent prerenderedWikiContent;
+  private final PluginStatsStore statsStore;
+  private final List<DataVersionListener> listeners = new CopyOnWriteArrayList<>();
+
+  protected AbstractPrepareDatastoreService(ConfigurationService configurationService,
+                                            ScheduledExecutorService scheduledExecutorService,
+                                            PluginSnapshotHolder snapshotHolder,
+                                            PrerenderedWikiContent prerenderedWikiContent,
+                                            PluginStatsStore statsStore) {
+    this.configurationService = configurationService;
+    this.scheduledExecutorService = scheduledExecutorService;
+    this.snapshotHolder = snapshotHolder;
+    this.prerenderedWikiContent = prerenderedWikiContent;
+    this.statsStore = statsStore;
+    if (WARM_SEARCHES) {
+      addDataVersionListener(new SearchWarmer());
+    }
+  }
+
+  @Override
+  public void populateDataStore() {
+    try (final PluginDataFile data = configurationService.getIndexData()) {
+      if (shouldIndex(data)) {
+        index(data);
+      }
+    } catch (Exception e) {
+      logger.error("Problem populating index", e);
+    }
+  }
+
+  @Override
+  public void schedulePopulateDataStore() {
+    final int interval = Integer.valueOf(System.getenv().getOrDefault("POPULATE_DATASTORE_INTERVAL", "30"));
+    scheduledExecutorService.scheduleWithFixedDelay(this::populateDataStore, interval, interval, TimeUnit.MINUTES);
+  }
+
+  /**
+   * <p>Index <code>data</code> and publish it once it's searchable</p>
+   *
+   * @param data plugin data newer than what's currently served
+   */
+  protected abstract void index(PluginDataFile data);
+
+  protected boolean shouldIndex(PluginDataFile data) {
+    if (data != null) {
+      final LocalDateTime createdAt = getCurrentCreatedAt();
+      if (createdAt != null) {
+        final LocalDateTime generatedCreatedAt = getCreatedAt(data);
+        logger.info("Current timestamp - " + createdAt);
+        logger.info("Data timestamp    - " + generatedCreatedAt);
+        if (createdAt.equals(generatedCreatedAt) || createdAt.isAfter(generatedCreatedAt)) {
+          logger.info("Plugin data is already up to date");
+          return false;
+        }
+      }
+      final String mappingVersion = VersionUtils.getMappingVersion();
+      if (data.getMappingVersion() != null && !data.getMappingVersion().equalsIgnoreCase(mappingVersion)) {
+        logger.warn(String.format("Data has mapping version '%s' but application has '%s'", data.getMappingVersion(), mappingVersion));
+        logger.warn("Cannot index with new data. More than likely the application needs to be rebuilt and deployed first");
+        return false;
+      }
+      return true;
+    } else {
+      logger.info("Plugin data hasn't changed");
+      return false;
+    }
+  }
+
+  /**
+   * @return creation time of <code>data</code> truncated to the precision kept in the index
+   */
+  protected LocalDateTime getCreatedAt(PluginDataFile data) {
+    return LocalDateTime.parse(TIMESTAMP_FORMATTER.format(data.getCreatedAt()), TIMESTAMP_FORMATTER);
+  }
+
+  @Override
+  public void addDataVersionListener(DataVersionListener listener) {
+    listeners.add(listener);
+  }
+
+  @Override
+  public void removeDataVersionListener(DataVersionListener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * <p>Tell listeners about <code>snapshot</code> before it's published</p>
+   *
+   * @param datastoreService searches the data of <code>snapshot</code>
+   */
+  protected void prepare(PluginSnapshot snapshot, DatastoreService datastoreService) {
+    final DataVersionEvent event = new DataVersionEvent(snapshot.getCreatedAt(), snapshot.size());
+    for (DataVersionListener listener : listeners) {
+      try {
+        listener.beforePublish(event, datastoreService);
+      } catch (Exception e) {
+        logger.error("Problem preparing data version " + event, e);
+      }
+    }
+  }
+
+  /**
+   * <p>Serve <code>snapshot</code> and the wiki content and statistics that came with it</p>
+   */
+  protected void publish(PluginSnapshot snapshot, OutOfLineContent outOfLine) {
+    snapshotHolder.set(snapshot);
+    prerenderedWikiContent.set(outOfLine.wikiContent);
+    statsStore.set(outOfLine.stats);
+    if (!outOfLine.wikiContent.isEmpty()) {
+      logger.info(String.format("Serving pre-rendered wiki content for %d urls", outOfLine.wikiContent.size()));
+    }
+    final DataVersionEvent event = new DataVersionEvent(snapshot.getCreatedAt(), snapshot.size());
+    for (DataVersionListener listener : listeners) {
+      try {
+        listener.afterPublish(event);
+      } catch (Exception e) {
+        logger.error("Problem publishing data version " + event, e);
+      }
+    }
+  }
+
+  /**
+   * <p>Serialize each plugin in <code>data</code> to the document that gets indexed</p>
+   *
+   * <p>Wiki content rendered while generating the data and the installation time series are moved into
+   * <code>outOfLine</code>, compressed and encoded respectively, instead of being indexed</p>
+   */
+  protected void forEachSource(PluginDataFile data, OutOfLineContent outOfLine, PluginSourceConsumer consumer) throws IOException {
+    data.forEachPlugin(plugin -> {
+      final Wiki wiki = plugin.getWiki();
+      if (wiki != null && wiki.getUrl() != null && wiki.getContent() != null) {
+        outOfLine.wikiContent.put(wiki.getUrl(), PrerenderedWikiContent.compress(wiki.getContent()));
+        wiki.setContent(null);
+      }
+      final Stats stats = plugin.getStats();
+      if (stats != null) {
+        outOfLine.stats.put(plugin.getName(), StatsCodec.encode(stats));
+        stats.setInstallations(null);
+        stats.setInstallationsPercentage(null);
+        stats.setInstallationsPerVersion(null);
+        stats.setInstallationsPercentagePerVersion(null);
+      }
+      try {
+        consumer.accept(plugin, JsonObjectMapper.getObjectMapper().writeValueAsBytes(plugin));
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    });
+  }
+
+  /**
+   * <p>Parts of the plugin data served without being indexed, keyed by wiki url and plugin name respectively</p>
+   */
+  protected static final class OutOfLineContent {
+    private final Map<String, byte[]> wikiContent = new HashMap<>();
+    private final Map<String, byte[]> stats = new HashMap<>();
+  }
+
+  @FunctionalInterface
+  protected interface PluginSourceConsumer {
+    void accept(Plugin plugin, byte[] source) throws IOException;
+  }
+
+}
@@ -8,6 +8,7 @@ import java.util.regex.Pattern;
 import org.apache.http.Header;
 import org.json.JSONArray;
 import org.json.JSONObject;
+import org.jsoup.Jsoup;
 
 public class ConfluenceApiExtractor implements WikiExtractor {
   private static final String WIKI_REST_API_TITLE = "https://wiki.jenkins.io/rest/api/content?expand=body.view&title=%s";
@@ -20,7 +21,7 @@ public class ConfluenceApiExtractor implements WikiExtractor {
       JSONArray json = new JSONObject(jsonStr).getJSONArray("results");
       if (json.length() > 0) {
         String html = json.getJSONObject(0).getJSONObject("body").getJSONObject("view").getString("value");
-        return ConfluenceDirectExtractor.cleanWikiContent(wrapInElement(html), wikiService);
+        return ConfluenceDirectExtractor.cleanWikiContent(Jsoup.parseBodyFragment(html).body());
       }
       return HttpClientWikiService.getNoDocumentationFound();
     } catch (RuntimeException e) {
@@ -29,10 +30,6 @@ public class ConfluenceApiExtractor implements WikiExtractor {
     }
   }
 
-  private static String wrapInElement(String html) {
-    return "<body class=wiki-content>" + html + "</body>";
-  }
-
   @Override
   public String getApiUrl(String wikiUrl) {
     Matcher matcher = WIKI_URL_REGEXP_TITLE.matcher(wikiUrl);
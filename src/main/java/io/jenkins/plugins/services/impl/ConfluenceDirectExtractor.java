@@ -18,6 +18,8 @@ import io.jenkins.plugins.services.ServiceException;
  */
 public class ConfluenceDirectExtractor implements WikiExtractor {
   public static final String BASE_URL = "https://wiki.jenkins.io";
+  private static final WikiContentCleaner CLEANER =
+      new WikiContentCleaner(BASE_URL, "/display/JENKINS/", BASE_URL, "/display/JENKINS/", true);
   private static final Pattern WIKI_HOST_REGEXP = Pattern.compile("^https?://wiki.jenkins(-ci.org|.io)",
       Pattern.CASE_INSENSITIVE);
 
@@ -40,20 +42,17 @@ public class ConfluenceDirectExtractor implements WikiExtractor {
     if (wikiContent == null) {
       return null;
     }
-    // Remove the entire span at the top with the "Plugin Information" inside
-    final Element topPluginInformation = wikiContent
-        .select(".conf-macro.output-inline th :contains(Plugin Information)").first();
-    if (topPluginInformation != null) {
-      Element element = topPluginInformation;
-      while (!element.tagName().equals("table")) {
-        element = element.parent();
-      }
-      element.remove();
-    }
-    // Remove any table of contents
-    wikiContent.getElementsByClass("toc").remove();
-    // Replace href/src with the wiki url
-    service.convertLinksToAbsolute(wikiContent, BASE_URL, "/display/JENKINS/");
+    return cleanWikiContent(wikiContent);
+  }
+
+  /**
+   * <p>Remove the "Plugin Information" table and any table of contents, and replace href/src with the wiki url</p>
+   *
+   * @param wikiContent already parsed wiki content, modified in place
+   * @return cleaned content
+   */
+  public static String cleanWikiContent(Element wikiContent) {
+    CLEANER.clean(wikiContent);
     return wikiContent.html();
   }
 
@@ -1,8 +1,7 @@
 package io.jenkins.plugins.services.impl;
 
-import io.jenkins.plugins.commons.JsonObjectMapper;
-import io.jenkins.plugins.models.GeneratedPluginData;
 import io.jenkins.plugins.services.ConfigurationService;
+import io.jenkins.plugins.services.PluginDataFile;
 import io.jenkins.plugins.services.ServiceException;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -16,10 +15,9 @@ import org.apache.http.impl.client.HttpClients;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.*;
-import java.nio.charset.StandardCharsets;
-import java.util.stream.Collectors;
-import java.util.zip.GZIPInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * <p>Default implementation of <code>ConfigurationService</code></p>
@@ -43,14 +41,13 @@ public class DefaultConfigurationService implements ConfigurationService {
   }
 
   @Override
-  public GeneratedPluginData getIndexData() throws ServiceException {
+  public PluginDataFile getIndexData() throws ServiceException {
     String url = getDataFileUrl();
     if (url.startsWith("file:///")) {
       String path = url.substring(7);
       final File dataFile = new File(path);
-      final String data = readGzipFile(dataFile);
       try {
-        final GeneratedPluginData generated = JsonObjectMapper.getObjectMapper().readValue(data, GeneratedPluginData.class);
+        final PluginDataFile generated = new PluginDataFile(dataFile, false);
         modifyType = ModifyType.NONE;
         modifyValue = null;
         return generated;
@@ -75,8 +72,13 @@ public class DefaultConfigurationService implements ConfigurationService {
         final InputStream inputStream = entity.getContent();
         final File dataFile = File.createTempFile("plugins", ".json.gzip");
         FileUtils.copyToFile(inputStream, dataFile);
-        final String data = readGzipFile(dataFile);
-        final GeneratedPluginData generated = JsonObjectMapper.getObjectMapper().readValue(data, GeneratedPluginData.class);
+        final PluginDataFile generated;
+        try {
+          generated = new PluginDataFile(dataFile, true);
+        } catch (IOException e) {
+          FileUtils.deleteQuietly(dataFile);
+          throw e;
+        }
         if (response.containsHeader("ETag")) {
           modifyType = ModifyType.ETAG;
           modifyValue = response.getLastHeader("ETag").getValue();
@@ -123,15 +125,6 @@ public class DefaultConfigurationService implements ConfigurationService {
     }
   }
 
-  private String readGzipFile(final File file) {
-    try(final BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(new FileInputStream(file)), StandardCharsets.UTF_8))) {
-      return reader.lines().collect(Collectors.joining());
-    } catch (Exception e) {
-      logger.error("Problem decompressing plugin data", e);
-      throw new RuntimeException("Problem decompressing plugin data", e);
-    }
-  }
-
   private boolean hasPluginDataChanged(CloseableHttpClient httpClient, String url) {
     if (modifyType == null || modifyType == ModifyType.NONE) {
       return true;
@@ -1,12 +1,10 @@
 package io.jenkins.plugins.services.impl;
 
-import io.jenkins.plugins.commons.JsonObjectMapper;
 import io.jenkins.plugins.datastore.ElasticsearchTransformer;
+import io.jenkins.plugins.datastore.PluginSnapshot;
 import io.jenkins.plugins.models.*;
-import io.jenkins.plugins.services.DatastoreService;
 import io.jenkins.plugins.services.SearchOptions;
 import io.jenkins.plugins.services.ServiceException;
-import org.apache.commons.io.FileUtils;
 import org.elasticsearch.action.get.GetResponse;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
@@ -19,126 +17,46 @@ import org.elasticsearch.search.aggregations.bucket.nested.InternalNested;
 import org.elasticsearch.search.aggregations.bucket.terms.StringTerms;
 import org.elasticsearch.search.sort.SortBuilders;
 import org.elasticsearch.search.sort.SortOrder;
-import org.json.JSONArray;
-import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.annotation.PostConstruct;
 import javax.inject.Inject;
-import java.io.File;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 /**
  * <p>Implementation of <code>DatastoreService</code> powered by Elasticsearch</p>
  *
  * @see io.jenkins.plugins.datastore.ElasticsearchClientFactory
  */
-public class ElasticsearchDatastoreService implements DatastoreService {
+public class ElasticsearchDatastoreService extends AbstractDatastoreService {
 
   private Logger logger = LoggerFactory.getLogger(ElasticsearchDatastoreService.class);
 
   @Inject
   private Client esClient;
 
-  private Categories categories;
-  private  Map<String, String> labelTitleMap;
+  private final String index;
 
-  @PostConstruct
-  public void postConstruct() {
-    this.categories = buildCategories();
-    this.labelTitleMap = buildLabelTitleMap();
+  public ElasticsearchDatastoreService() {
+    this.index = "plugins";
+  }
+
+  /**
+   * <p>Datastore over <code>index</code> before the alias points to it</p>
+   */
+  ElasticsearchDatastoreService(Client esClient, String index, PluginSnapshot snapshot) {
+    super(snapshot);
+    this.esClient = esClient;
+    this.index = index;
   }
 
   @Override
   public Plugins search(SearchOptions searchOptions) throws ServiceException {
     try {
-      final SearchRequestBuilder requestBuilder = esClient.prepareSearch("plugins")
-        .setFrom((searchOptions.getPage() - 1) * searchOptions.getLimit())
-        .setSize(searchOptions.getLimit());
-      final BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery();
-      if (searchOptions.getQuery() != null) {
-        queryBuilder.must(QueryBuilders.boolQuery()
-          .should(QueryBuilders.matchQuery("title", searchOptions.getQuery()))
-          .should(QueryBuilders.matchQuery("name", searchOptions.getQuery()))
-          .should(QueryBuilders.nestedQuery("maintainers", QueryBuilders.matchQuery("maintainers.id", searchOptions.getQuery())))
-          .should(QueryBuilders.nestedQuery("maintainers", QueryBuilders.matchQuery("maintainers.name", searchOptions.getQuery())))
-          .should(QueryBuilders.matchQuery("excerpt", searchOptions.getQuery()))
-          .should(QueryBuilders.termsQuery("categories", searchOptions.getQuery().toLowerCase().split(",")))
-          .should(QueryBuilders.termsQuery("labels", searchOptions.getQuery().toLowerCase().split(",")))
-          .should(QueryBuilders.termsQuery("requireCore", searchOptions.getQuery().toLowerCase().split(",")))
-        );
-      } else {
-        queryBuilder.must(QueryBuilders.matchAllQuery());
-      }
-      if (searchOptions.hasFilters()) {
-        final BoolQueryBuilder filter = QueryBuilders.boolQuery();
-        if (!searchOptions.getCategories().isEmpty() && !searchOptions.getLabels().isEmpty()) {
-          filter.must(
-            QueryBuilders.boolQuery().should(
-              QueryBuilders.termsQuery("categories", searchOptions.getCategories())
-            ).should(
-              QueryBuilders.termsQuery("labels", searchOptions.getLabels())
-            )
-          );
-        } else if (!searchOptions.getCategories().isEmpty()) {
-          filter.must(
-            QueryBuilders.boolQuery().should(
-              QueryBuilders.termsQuery("categories", searchOptions.getCategories())
-            )
-          );
-        } else if (!searchOptions.getLabels().isEmpty()) {
-          filter.must(
-            QueryBuilders.boolQuery().should(
-              QueryBuilders.termsQuery("labels", searchOptions.getLabels())
-            )
-          );
-        }
-        if (!searchOptions.getMaintainers().isEmpty()) {
-          filter.must(
-            QueryBuilders.boolQuery().should(
-              QueryBuilders.nestedQuery("maintainers", QueryBuilders.matchQuery("maintainers.id", searchOptions.getMaintainers()))
-            ).should(
-              QueryBuilders.nestedQuery("maintainers", QueryBuilders.matchQuery("maintainers.name", searchOptions.getMaintainers()))
-            )
-          );
-        }
-        if (searchOptions.getCore() != null) {
-          filter.must(QueryBuilders.termQuery("requiredCore", searchOptions.getCore()));
-        }
-        queryBuilder.filter(filter);
-      }
-      requestBuilder.setQuery(queryBuilder);
-      if (searchOptions.getSortBy() != null) {
-        switch (searchOptions.getSortBy()) {
-          case FIRST_RELEASE:
-            requestBuilder.addSort(SortBuilders.fieldSort("firstRelease").order(SortOrder.DESC));
-          case INSTALLED:
-            requestBuilder.addSort(SortBuilders.fieldSort("stats.currentInstalls").setNestedPath("stats").order(SortOrder.DESC));
-            break;
-          case NAME:
-            requestBuilder.addSort(SortBuilders.fieldSort("name.raw").order(SortOrder.ASC));
-            break;
-          case TITLE:
-            requestBuilder.addSort(SortBuilders.fieldSort("title.raw").order(SortOrder.ASC));
-            break;
-          case TREND:
-            requestBuilder.addSort(SortBuilders.fieldSort("stats.trend").setNestedPath("stats").order(SortOrder.DESC));
-            break;
-          case UPDATED:
-            requestBuilder.addSort(SortBuilders.fieldSort("releaseTimestamp").order(SortOrder.DESC));
-            break;
-          default: break;
-        }
-      }
-      final SearchResponse response = requestBuilder.execute().get();
+      final SearchResponse response = doSearch(searchOptions);
       final long total = response.getHits().getTotalHits();
       final long pages = (total + searchOptions.getLimit() - 1) / searchOptions.getLimit();
       if (response.getHits().getHits().length == 0) {
@@ -154,8 +72,122 @@ public class ElasticsearchDatastoreService implements DatastoreService {
     }
   }
 
+  @Override
+  public RawPlugins searchRaw(SearchOptions searchOptions) throws ServiceException {
+    try {
+      final SearchResponse response = doSearch(searchOptions);
+      final long total = response.getHits().getTotalHits();
+      final long pages = (total + searchOptions.getLimit() - 1) / searchOptions.getLimit();
+      if (response.getHits().getHits().length == 0) {
+        return new RawPlugins(Collections.emptyList(), searchOptions.getPage(), 0, 0, searchOptions.getLimit());
+      }
+      return new RawPlugins(
+        ElasticsearchTransformer.transformRawHits(response.getHits()),
+        searchOptions.getPage(), pages, total, searchOptions.getLimit()
+      );
+    } catch (Exception e) {
+      logger.error("Problem executing, ES query", e);
+      throw new ServiceException("Problem executing ES query", e);
+    }
+  }
+
+  private SearchResponse doSearch(SearchOptions searchOptions) throws Exception {
+    final SearchRequestBuilder requestBuilder = esClient.prepareSearch(index)
+      .setFrom((searchOptions.getPage() - 1) * searchOptions.getLimit())
+      .setSize(searchOptions.getLimit());
+    if (!searchOptions.getFields().isEmpty()) {
+      requestBuilder.setFetchSource(searchOptions.getFields().toArray(new String[0]), null);
+    }
+    final BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery();
+    if (searchOptions.getQuery() != null) {
+      queryBuilder.must(QueryBuilders.boolQuery()
+        .should(QueryBuilders.matchQuery("title", searchOptions.getQuery()))
+        .should(QueryBuilders.matchQuery("name", searchOptions.getQuery()))
+        .should(QueryBuilders.nestedQuery("maintainers", QueryBuilders.matchQuery("maintainers.id", searchOptions.getQuery())))
+        .should(QueryBuilders.nestedQuery("maintainers", QueryBuilders.matchQuery("maintainers.name", searchOptions.getQuery())))
+        .should(QueryBuilders.matchQuery("excerpt", searchOptions.getQuery()))
+        .should(QueryBuilders.termsQuery("categories", searchOptions.getQuery().toLowerCase().split(",")))
+        .should(QueryBuilders.termsQuery("labels", searchOptions.getQuery().toLowerCase().split(",")))
+        .should(QueryBuilders.termsQuery("requireCore", searchOptions.getQuery().toLowerCase().split(",")))
+      );
+    } else {
+      queryBuilder.must(QueryBuilders.matchAllQuery());
+    }
+    if (searchOptions.hasFilters()) {
+      final BoolQueryBuilder filter = QueryBuilders.boolQuery();
+      if (!searchOptions.getCategories().isEmpty() && !searchOptions.getLabels().isEmpty()) {
+        filter.must(
+          QueryBuilders.boolQuery().should(
+            QueryBuilders.termsQuery("categories", searchOptions.getCategories())
+          ).should(
+            QueryBuilders.termsQuery("labels", searchOptions.getLabels())
+          )
+        );
+      } else if (!searchOptions.getCategories().isEmpty()) {
+        filter.must(
+          QueryBuilders.boolQuery().should(
+            QueryBuilders.termsQuery("categories", searchOptions.getCategories())
+          )
+        );
+      } else if (!searchOptions.getLabels().isEmpty()) {
+        filter.must(
+          QueryBuilders.boolQuery().should(
+            QueryBuilders.termsQuery("labels", searchOptions.getLabels())
+          )
+        );
+      }
+      if (!searchOptions.getMaintainers().isEmpty()) {
+        filter.must(
+          QueryBuilders.boolQuery().should(
+            QueryBuilders.nestedQuery("maintainers", QueryBuilders.matchQuery("maintainers.id", searchOptions.getMaintainers()))
+          ).should(
+            QueryBuilders.nestedQuery("maintainers", QueryBuilders.matchQuery("maintainers.name", searchOptions.getMaintainers()))
+          )
+        );
+      }
+      if (searchOptions.getCore() != null) {
+        filter.must(QueryBuilders.termQuery("requiredCore", searchOptions.getCore()));
+      }
+      queryBuilder.filter(filter);
+    }
+    requestBuilder.setQuery(queryBuilder);
+    if (searchOptions.getSortBy() != null) {
+      switch (searchOptions.getSortBy()) {
+        case FIRST_RELEASE:
+          requestBuilder.addSort(SortBuilders.fieldSort("firstRelease").order(SortOrder.DESC));
+        case INSTALLED:
+          requestBuilder.addSort(SortBuilders.fieldSort("stats.currentInstalls").setNestedPath("stats").order(SortOrder.DESC));
+          break;
+        case NAME:
+          requestBuilder.addSort(SortBuilders.fieldSort("name.raw").order(SortOrder.ASC));
+          break;
+        case TITLE:
+          requestBuilder.addSort(SortBuilders.fieldSort("title.raw").order(SortOrder.ASC));
+          break;
+        case TREND:
+          requestBuilder.addSort(SortBuilders.fieldSort("stats.trend").setNestedPath("stats").order(SortOrder.DESC));
+          break;
+        case UPDATED:
+          requestBuilder.addSort(SortBuilders.fieldSort("releaseTimestamp").order(SortOrder.DESC));
+          break;
+        default: break;
+      }
+    }
+    return requestBuilder.execute().get();
+  }
+
+  /**
+   * <p>Plugins are served from the current <code>PluginSnapshot</code> when one is available, only falling back to
+   * Elasticsearch before the first snapshot has been published</p>
+   *
+   * <p>A copy is returned so callers can fill in per request data, e.g. wiki content, without touching the shared
+   * snapshot</p>
+   */
   @Override
   public Plugin getPlugin(String name) throws ServiceException {
+    if (snapshotHolder.get() != null) {
+      return super.getPlugin(name);
+    }
     try {
       final GetResponse getResponse = esClient.prepareGet("plugins", "plugins", name).execute().get();
       return getResponse.isExists() ? ElasticsearchTransformer.transformGet(getResponse, Plugin.class) : null;
@@ -166,32 +198,28 @@ public class ElasticsearchDatastoreService implements DatastoreService {
   }
 
   @Override
-  public Categories getCategories() throws ServiceException {
-    return categories;
-  }
-
-  private Categories buildCategories() {
+  public RawPlugin getRawPlugin(String name) throws ServiceException {
+    if (snapshotHolder.get() != null) {
+      return super.getRawPlugin(name);
+    }
     try {
-      final ClassLoader cl = getClass().getClassLoader();
-      final File file = new File(cl.getResource("categories.json").getFile());
-      final JSONArray json = new JSONObject(FileUtils.readFileToString(file, StandardCharsets.UTF_8)).getJSONArray("categories");
-      final List<Category> categories = StreamSupport.stream(json.spliterator(), false)
-        .map(obj -> {
-          try {
-            return JsonObjectMapper.getObjectMapper().readValue(obj.toString(), Category.class);
-          } catch (IOException e) {
-            return null;
-          }
-        }).filter(category -> category != null).collect(Collectors.toList());
-      return new Categories(categories);
+      final GetResponse getResponse = esClient.prepareGet("plugins", "plugins", name).execute().get();
+      return getResponse.isExists() ? ElasticsearchTransformer.transformRawGet(getResponse) : null;
     } catch (Exception e) {
-      logger.error("Problem getting categories", e);
-      throw new ServiceException("Problem getting categories", e);
+      logger.error("Problem executing ES query", e);
+      throw new ServiceException("Problem executing ES query", e);
     }
   }
 
+  /**
+   * <p>Maintainers, labels and versions come from the <code>FacetIndex</code> of the current snapshot, only running
+   * an aggregation before the first snapshot has been published</p>
+   */
   @Override
   public Maintainers getMaintainers() throws ServiceException {
+    if (snapshotHolder.get() != null) {
+      return super.getMaintainers();
+    }
     try {
       final SearchRequestBuilder requestBuilder = esClient.prepareSearch("plugins")
         .addAggregation(AggregationBuilders.nested("maintainers").path("maintainers")
@@ -214,6 +242,9 @@ public class ElasticsearchDatastoreService implements DatastoreService {
 
   @Override
   public Labels getLabels() throws ServiceException {
+    if (snapshotHolder.get() != null) {
+      return super.getLabels();
+    }
     try {
       final SearchRequestBuilder requestBuilder = esClient.prepareSearch("plugins")
         .addAggregation(AggregationBuilders.terms("labels").field("labels").size(0))
@@ -222,7 +253,7 @@ public class ElasticsearchDatastoreService implements DatastoreService {
       final StringTerms agg = response.getAggregations().get("labels");
       final List<Label> labels = agg.getBuckets().stream()
         .map(MultiBucketsAggregation.Bucket::getKeyAsString)
-        .map(key -> new Label(key, labelTitleMap.getOrDefault(key, null)))
+        .map(key -> new Label(key, getLabelTitle(key)))
         .collect(Collectors.toList());
       return new Labels(labels);
     } catch (Exception e) {
@@ -231,21 +262,11 @@ public class ElasticsearchDatastoreService implements DatastoreService {
     }
   }
 
-  private Map<String, String> buildLabelTitleMap() {
-    try {
-      final ClassLoader cl = getClass().getClassLoader();
-      final File file = new File(cl.getResource("labels.json").getFile());
-      final JSONArray labels = new JSONObject(FileUtils.readFileToString(file, StandardCharsets.UTF_8)).getJSONArray("labels");
-      return StreamSupport.stream(labels.spliterator(), false)
-        .map(obj -> (JSONObject)obj)
-        .collect(Collectors.toMap(label -> label.getString("id"), label -> label.getString("title")));
-    } catch (Exception e) {
-      throw new RuntimeException(e);
-    }
-  }
-
   @Override
   public Versions getVersions() throws ServiceException {
+    if (snapshotHolder.get() != null) {
+      return super.getVersions();
+    }
     try {
       final SearchRequestBuilder requestBuilder = esClient.prepareSearch("plugins")
         .addAggregation(AggregationBuilders.terms("versions").field("requiredCore").size(0))
@@ -1,135 +1,145 @@
 package io.jenkins.plugins.services.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.jenkins.plugins.commons.JsonObjectMapper;
-import io.jenkins.plugins.models.GeneratedPluginData;
+import io.jenkins.plugins.datastore.ElasticsearchTransformer;
+import io.jenkins.plugins.datastore.PluginSnapshot;
+import io.jenkins.plugins.datastore.PluginSnapshotHolder;
+import io.jenkins.plugins.models.Plugin;
+import io.jenkins.plugins.models.RawPlugin;
 import io.jenkins.plugins.services.ConfigurationService;
-import io.jenkins.plugins.services.PrepareDatastoreService;
+import io.jenkins.plugins.services.PluginDataFile;
+import io.jenkins.plugins.services.PluginStatsStore;
+import io.jenkins.plugins.services.PrerenderedWikiContent;
 import io.jenkins.plugins.utils.VersionUtils;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FileUtils;
 import org.elasticsearch.ElasticsearchException;
-import org.elasticsearch.action.bulk.BulkItemResponse;
-import org.elasticsearch.action.bulk.BulkRequestBuilder;
-import org.elasticsearch.action.bulk.BulkResponse;
-import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.bulk.*;
+import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.client.Client;
+import org.elasticsearch.cluster.metadata.MappingMetaData;
+import org.elasticsearch.common.collect.ImmutableOpenMap;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.sort.SortOrder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import java.io.File;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
-public class ElasticsearchPrepareDatastoreService implements PrepareDatastoreService {
+public class ElasticsearchPrepareDatastoreService extends AbstractPrepareDatastoreService {
 
   private final Logger logger = LoggerFactory.getLogger(ElasticsearchPrepareDatastoreService.class);
 
-  private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy.MM.dd_HH.mm.ss");
   private static final String ALIAS = "plugins";
   private static final String INDEX_PREFIX = "plugins_";
   private static final String TYPE = "plugins";
+  private static final TimeValue SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(1);
+  private static final int SCROLL_SIZE = 500;
+  private static final int BULK_ACTIONS = Integer.valueOf(System.getenv().getOrDefault("BULK_ACTIONS", "500"));
+  private static final int BULK_SIZE_MB = Integer.valueOf(System.getenv().getOrDefault("BULK_SIZE_MB", "5"));
+  private static final int BULK_CONCURRENT_REQUESTS = Integer.valueOf(System.getenv().getOrDefault("BULK_CONCURRENT_REQUESTS", "2"));
+  private static final int BULK_RETRIES = Integer.valueOf(System.getenv().getOrDefault("BULK_RETRIES", "3"));
+  private static final boolean INDEX_BUILD_TUNING = Boolean.valueOf(System.getenv().getOrDefault("INDEX_BUILD_TUNING", "true"));
+  private static final String INDEX_REFRESH_INTERVAL = System.getenv().getOrDefault("INDEX_REFRESH_INTERVAL", "1s");
+  private static final int INDEX_REPLICAS = Integer.valueOf(System.getenv().getOrDefault("INDEX_REPLICAS", "1"));
+  private static final int BULK_TIMEOUT = Integer.valueOf(System.getenv().getOrDefault("BULK_TIMEOUT", "10"));
+  private static final boolean DELTA_INDEXING = Boolean.valueOf(System.getenv().getOrDefault("DELTA_INDEXING", "false"));
+  private static final String META = "_meta";
+  private static final String META_CREATED_AT = "createdAt";
+  private static final String META_MAPPING_VERSION = "mappingVersion";
 
-  private ConfigurationService configurationService;
-  private ScheduledExecutorService scheduledExecutorService;
   private Client client;
 
   @Inject
   public ElasticsearchPrepareDatastoreService(ConfigurationService configurationService,
                                               ScheduledExecutorService scheduledExecutorService,
-                                              Client client) {
-    this.configurationService = configurationService;
-    this.scheduledExecutorService = scheduledExecutorService;
+                                              Client client,
+                                              PluginSnapshotHolder snapshotHolder,
+                                              PrerenderedWikiContent prerenderedWikiContent,
+                                              PluginStatsStore statsStore) {
+    super(configurationService, scheduledExecutorService, snapshotHolder, prerenderedWikiContent, statsStore);
     this.client = client;
   }
 
   @Override
-  public void populateDataStore() {
-    try {
-      final GeneratedPluginData data = configurationService.getIndexData();
-      if (shouldIndex(data)) {
-        doPopulateIndex(data);
-      }
-    } catch (Exception e) {
-      logger.error("Problem populating index", e);
+  protected void index(PluginDataFile data) {
+    final String index = DELTA_INDEXING ? getDeltaIndex() : null;
+    if (index != null) {
+      doUpdateIndex(index, data);
+    } else {
+      doPopulateIndex(data);
     }
   }
 
   @Override
-  public void schedulePopulateDataStore() {
-    final int interval = Integer.valueOf(System.getenv().getOrDefault("POPULATE_DATASTORE_INTERVAL", "30"));
-    scheduledExecutorService.scheduleWithFixedDelay(this::populateDataStore, interval, interval, TimeUnit.MINUTES);
-  }
-
-  private boolean shouldIndex(GeneratedPluginData data) {
-    if (data != null) {
-      final LocalDateTime createdAt = getCurrentCreatedAt();
-      if (createdAt != null) {
-        final LocalDateTime generatedCreatedAt = LocalDateTime.parse(TIMESTAMP_FORMATTER.format(data.getCreatedAt()), TIMESTAMP_FORMATTER);
-        logger.info("Current timestamp - " + createdAt);
-        logger.info("Data timestamp    - " + generatedCreatedAt);
-        if (createdAt.equals(generatedCreatedAt) || createdAt.isAfter(generatedCreatedAt)) {
-          logger.info("Plugin data is already up to date");
-          return false;
-        }
-      }
-      final String mappingVersion = VersionUtils.getMappingVersion();
-      if (data.getMappingVersion() != null && !data.getMappingVersion().equalsIgnoreCase(mappingVersion)) {
-        logger.warn(String.format("Data has mapping version '%s' but application has '%s'", data.getMappingVersion(), mappingVersion));
-        logger.warn("Cannot index with new data. More than likely the application needs to be rebuilt and deployed first");
-        return false;
-      }
-      final String elasticsearchVersion = VersionUtils.getElasticsearchVersion();
-      if (data.getElasticsearchVersion() != null && !data.getElasticsearchVersion().equalsIgnoreCase(elasticsearchVersion)) {
-        logger.warn(String.format("Data has Elasticsearch version '%s' but application has '%s'", data.getElasticsearchVersion(), elasticsearchVersion));
-        logger.warn("Cannot index with new data. More than likely the application needs to be rebuilt and deployed first");
-        return false;
-      }
-      return true;
-    } else {
-      logger.info("Plugin data hasn't changed");
+  protected boolean shouldIndex(PluginDataFile data) {
+    if (!super.shouldIndex(data)) {
       return false;
     }
+    final String elasticsearchVersion = VersionUtils.getElasticsearchVersion();
+    if (data.getElasticsearchVersion() != null && !data.getElasticsearchVersion().equalsIgnoreCase(elasticsearchVersion)) {
+      logger.warn(String.format("Data has Elasticsearch version '%s' but application has '%s'", data.getElasticsearchVersion(), elasticsearchVersion));
+      logger.warn("Cannot index with new data. More than likely the application needs to be rebuilt and deployed first");
+      return false;
+    }
+    return true;
   }
 
-  private void doPopulateIndex(GeneratedPluginData data) {
+  private void doPopulateIndex(PluginDataFile data) {
     final ClassLoader cl = getClass().getClassLoader();
     final String index = String.format("%s%s", INDEX_PREFIX, TIMESTAMP_FORMATTER.format(data.getCreatedAt()));
+    final LocalDateTime createdAt = getCreatedAt(data);
     try {
       final File mappingFile = new File(cl.getResource("elasticsearch/mappings/plugins.json").getFile());
       final String mappingContent = FileUtils.readFileToString(mappingFile, StandardCharsets.UTF_8);
+      final ObjectMapper mapper = JsonObjectMapper.getObjectMapper();
+      final ObjectNode mapping = (ObjectNode) mapper.readTree(mappingContent);
+      ((ObjectNode) mapping.get(TYPE)).set(META, createMeta(createdAt));
       client.admin().indices().prepareCreate(index)
-        .addMapping(TYPE, mappingContent)
+        .addMapping(TYPE, mapper.writeValueAsString(mapping))
+        .setSettings(INDEX_BUILD_TUNING ? buildSettings() : servingSettings())
         .get();
       logger.info(String.format("Index '%s' created", index));
-      final BulkRequestBuilder bulkRequestBuilder = client.prepareBulk();
-      data.getPlugins().forEach(plugin -> {
-        try {
-          final IndexRequest indexRequest = client.prepareIndex(index, TYPE, plugin.getName())
-            .setSource(JsonObjectMapper.getObjectMapper().writeValueAsString(plugin)).request();
-          bulkRequestBuilder.add(indexRequest);
-        } catch (Exception e) {
-          throw new RuntimeException(e);
-        }
-      });
-      final BulkResponse response = bulkRequestBuilder.get();
-      if (response.hasFailures()) {
-        for (BulkItemResponse item : response.getItems()) {
-          logger.warn(String.format("Problem indexing: %s", item.getFailureMessage()));
-        }
-        throw new ElasticsearchException("Problem bulk indexing");
+      final AtomicInteger count = new AtomicInteger();
+      final OutOfLineContent outOfLine = new OutOfLineContent();
+      bulk(bulkProcessor -> forEachSource(data, outOfLine, (plugin, source) -> {
+        bulkProcessor.add(client.prepareIndex(index, TYPE, plugin.getName()).setSource(source).request());
+        count.incrementAndGet();
+      }));
+      logger.info(String.format("Indexed %d plugins", count.get()));
+      if (INDEX_BUILD_TUNING) {
+        finishBuild(index);
+      } else {
+        client.admin().indices().prepareRefresh(index).get();
       }
-      logger.info(String.format("Indexed %d plugins", data.getPlugins().size()));
-      if (client.admin().indices().prepareAliasesExist(ALIAS).get().exists()) {
-        final String oldIndex = client.admin().indices().prepareGetAliases(ALIAS).get().getAliases().iterator().next().key;
+      final PluginSnapshot snapshot = buildSnapshot(index, createdAt);
+      prepare(snapshot, new ElasticsearchDatastoreService(client, index, snapshot));
+      final String oldIndex = getAliasedIndex();
+      if (oldIndex != null) {
         // Atomic swap of alias
         client.admin().indices().prepareAliases()
           .removeAlias(oldIndex, ALIAS)
           .addAlias(index, ALIAS)
           .get();
         logger.info(String.format("Updated alias '%s' from '%s' to '%s'", ALIAS, oldIndex, index));
+        publish(snapshot, outOfLine);
         client.admin().indices().prepareDelete(oldIndex).get();
         logger.info(String.format("Deleted old index '%s'", oldIndex));
       } else {
@@ -137,6 +147,7 @@ public class ElasticsearchPrepareDatastoreService implements PrepareDatastoreSer
           .addAlias(index, ALIAS)
           .get();
         logger.info(String.format("Alias (%s) plugins points to index %s", ALIAS, index));
+        publish(snapshot, outOfLine);
       }
       client.admin().indices().prepareRefresh(ALIAS).execute().get();
     } catch (Exception e) {
@@ -145,11 +156,244 @@ public class ElasticsearchPrepareDatastoreService implements PrepareDatastoreSer
     }
   }
 
+  /**
+   * <p>Apply only the differences between <code>data</code> and the live <code>index</code></p>
+   *
+   * <p>Plugins are compared by a digest of their serialized document so only new or changed plugins are written and
+   * plugins no longer in the data are deleted. The work done grows with the number of changes rather than the size
+   * of the catalog.</p>
+   *
+   * <p>Writes go to the index searches are served from, so if a bulk request partially fails the writes that went
+   * through become searchable while the snapshot still describes the previous data. That's why it's only done when
+   * <code>DELTA_INDEXING</code> is set to <code>true</code>, every other update builds a new index and swaps the
+   * alias.</p>
+   */
+  private void doUpdateIndex(String index, PluginDataFile data) {
+    final LocalDateTime createdAt = getCreatedAt(data);
+    final long start = System.currentTimeMillis();
+    try {
+      final Map<String, String> digests = readDigests(index);
+      final AtomicInteger updated = new AtomicInteger();
+      final OutOfLineContent outOfLine = new OutOfLineContent();
+      if (INDEX_BUILD_TUNING) {
+        client.admin().indices().prepareUpdateSettings(index)
+          .setSettings(Settings.settingsBuilder().put("index.refresh_interval", "-1").build())
+          .get();
+      }
+      try {
+        bulk(bulkProcessor -> {
+          forEachSource(data, outOfLine, (plugin, source) -> {
+            if (!digest(source).equals(digests.remove(plugin.getName()))) {
+              bulkProcessor.add(client.prepareIndex(index, TYPE, plugin.getName()).setSource(source).request());
+              updated.incrementAndGet();
+            }
+          });
+          // Whatever wasn't seen in the data has been removed
+          digests.keySet().forEach(name -> bulkProcessor.add(client.prepareDelete(index, TYPE, name).request()));
+        });
+      } finally {
+        if (INDEX_BUILD_TUNING) {
+          client.admin().indices().prepareUpdateSettings(index)
+            .setSettings(Settings.settingsBuilder().put("index.refresh_interval", INDEX_REFRESH_INTERVAL).build())
+            .get();
+        }
+      }
+      client.admin().indices().preparePutMapping(index)
+        .setType(TYPE)
+        .setSource(JsonObjectMapper.getObjectMapper().writeValueAsString(
+          JsonObjectMapper.getObjectMapper().createObjectNode().set(META, createMeta(createdAt))))
+        .get();
+      client.admin().indices().prepareRefresh(index).get();
+      logger.info(String.format("Updated %d and deleted %d plugins in index '%s' in %dms",
+        updated.get(), digests.size(), index, System.currentTimeMillis() - start));
+      final PluginSnapshot snapshot = buildSnapshot(index, createdAt);
+      prepare(snapshot, new ElasticsearchDatastoreService(client, index, snapshot));
+      publish(snapshot, outOfLine);
+    } catch (Exception e) {
+      logger.error("Problem updating index", e);
+      throw new RuntimeException("Problem updating index", e);
+    }
+  }
+
+  /**
+   * <p>Index currently behind the alias if it can be updated in place</p>
+   *
+   * @return index name, null if a new index has to be built
+   */
+  private String getDeltaIndex() {
+    final String index = getAliasedIndex();
+    if (index == null) {
+      return null;
+    }
+    final Map<String, Object> meta = getIndexMeta(index);
+    final String mappingVersion = VersionUtils.getMappingVersion();
+    if (meta == null || !mappingVersion.equals(meta.get(META_MAPPING_VERSION))) {
+      logger.info(String.format("Mapping of index '%s' differs from '%s', rebuilding", index, mappingVersion));
+      return null;
+    }
+    return index;
+  }
+
+  /**
+   * <p>Digest of every document in <code>index</code> keyed by plugin name</p>
+   */
+  private Map<String, String> readDigests(String index) {
+    final Map<String, String> digests = new HashMap<>();
+    SearchResponse response = client.prepareSearch(index)
+      .setTypes(TYPE)
+      .setQuery(QueryBuilders.matchAllQuery())
+      .addSort("_doc", SortOrder.ASC)
+      .setScroll(SCROLL_KEEP_ALIVE)
+      .setSize(SCROLL_SIZE)
+      .get();
+    while (response.getHits().getHits().length > 0) {
+      for (SearchHit hit : response.getHits().getHits()) {
+        digests.put(hit.getId(), digest(hit.source()));
+      }
+      response = client.prepareSearchScroll(response.getScrollId()).setScroll(SCROLL_KEEP_ALIVE).get();
+    }
+    client.prepareClearScroll().addScrollId(response.getScrollId()).get();
+    return digests;
+  }
+
+  private String digest(byte[] source) {
+    return DigestUtils.sha1Hex(source);
+  }
+
+  /**
+   * <p>Run <code>requests</code> against a <code>BulkProcessor</code> and wait for every bulk request to finish</p>
+   *
+   * @throws ElasticsearchException if any request still failed after retrying
+   */
+  private void bulk(BulkRequests requests) throws Exception {
+    final BulkListener listener = new BulkListener();
+    final BulkProcessor bulkProcessor = BulkProcessor.builder(client, listener)
+      .setBulkActions(BULK_ACTIONS)
+      .setBulkSize(new ByteSizeValue(BULK_SIZE_MB, ByteSizeUnit.MB))
+      .setConcurrentRequests(BULK_CONCURRENT_REQUESTS)
+      .setBackoffPolicy(BackoffPolicy.exponentialBackoff(TimeValue.timeValueMillis(100), BULK_RETRIES))
+      .build();
+    boolean completed = false;
+    try {
+      requests.add(bulkProcessor);
+    } finally {
+      completed = bulkProcessor.awaitClose(BULK_TIMEOUT, TimeUnit.MINUTES);
+    }
+    if (!completed) {
+      throw new ElasticsearchException(String.format("Bulk requests still in flight after %d minutes", BULK_TIMEOUT));
+    }
+    if (listener.getFailures() > 0) {
+      throw new ElasticsearchException(String.format("Problem bulk indexing - %d plugins failed", listener.getFailures()));
+    }
+  }
+
+  private ObjectNode createMeta(LocalDateTime createdAt) {
+    final ObjectNode meta = JsonObjectMapper.getObjectMapper().createObjectNode();
+    meta.put(META_CREATED_AT, TIMESTAMP_FORMATTER.format(createdAt));
+    meta.put(META_MAPPING_VERSION, VersionUtils.getMappingVersion());
+    return meta;
+  }
+
+  /**
+   * @return <code>_meta</code> of the mapping in <code>index</code>, null if it has none
+   */
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> getIndexMeta(String index) {
+    try {
+      final ImmutableOpenMap<String, MappingMetaData> mappings = client.admin().indices().prepareGetMappings(index)
+        .setTypes(TYPE)
+        .get()
+        .getMappings()
+        .get(index);
+      if (mappings == null || mappings.get(TYPE) == null) {
+        return null;
+      }
+      final Object meta = mappings.get(TYPE).sourceAsMap().get(META);
+      return meta instanceof Map ? (Map<String, Object>) meta : null;
+    } catch (Exception e) {
+      logger.error("Problem reading mapping of index " + index, e);
+      return null;
+    }
+  }
+
+  /**
+   * @return index the alias points to, null if the alias doesn't exist
+   */
+  private String getAliasedIndex() {
+    if (client.admin().indices().prepareAliasesExist(ALIAS).get().exists()) {
+      return client.admin().indices().prepareGetAliases(ALIAS).get().getAliases().iterator().next().key;
+    }
+    return null;
+  }
+
+  /**
+   * <p>Settings used while the index is being filled. Nothing searches it until the alias is swapped so refreshes and
+   * replicas only slow the bulk load down.</p>
+   */
+  private Settings buildSettings() {
+    return Settings.settingsBuilder()
+      .put("index.refresh_interval", "-1")
+      .put("index.number_of_replicas", 0)
+      .build();
+  }
+
+  private Settings servingSettings() {
+    return Settings.settingsBuilder()
+      .put("index.refresh_interval", INDEX_REFRESH_INTERVAL)
+      .put("index.number_of_replicas", INDEX_REPLICAS)
+      .build();
+  }
+
+  /**
+   * <p>Restore serving settings, refresh and merge the now read-only index down to a single segment</p>
+   */
+  private void finishBuild(String index) {
+    final long start = System.currentTimeMillis();
+    client.admin().indices().prepareUpdateSettings(index).setSettings(servingSettings()).get();
+    client.admin().indices().prepareRefresh(index).get();
+    client.admin().indices().prepareForceMerge(index).setMaxNumSegments(1).get();
+    logger.info(String.format("Refreshed and force merged index '%s' in %dms", index, System.currentTimeMillis() - start));
+  }
+
+  /**
+   * <p>Read every plugin back from <code>index</code> so plugin lookups can be answered without Elasticsearch</p>
+   *
+   * <p>The documents are read as they were stored rather than taken from the data file so the snapshot always
+   * matches what searches return</p>
+   */
+  private PluginSnapshot buildSnapshot(String index, LocalDateTime createdAt) throws IOException {
+    final Map<String, Plugin> plugins = new HashMap<>();
+    final Map<String, RawPlugin> rawPlugins = new HashMap<>();
+    SearchResponse response = client.prepareSearch(index)
+      .setTypes(TYPE)
+      .setQuery(QueryBuilders.matchAllQuery())
+      .addSort("_doc", SortOrder.ASC)
+      .setScroll(SCROLL_KEEP_ALIVE)
+      .setSize(SCROLL_SIZE)
+      .get();
+    while (response.getHits().getHits().length > 0) {
+      for (SearchHit hit : response.getHits().getHits()) {
+        final Plugin plugin = ElasticsearchTransformer.transformHit(hit);
+        if (plugin != null) {
+          plugins.put(plugin.getName(), plugin);
+          rawPlugins.put(plugin.getName(), ElasticsearchTransformer.transformRaw(hit.source()));
+        }
+      }
+      response = client.prepareSearchScroll(response.getScrollId()).setScroll(SCROLL_KEEP_ALIVE).get();
+    }
+    client.prepareClearScroll().addScrollId(response.getScrollId()).get();
+    logger.info(String.format("Built snapshot of %d plugins from index '%s'", plugins.size(), index));
+    return new PluginSnapshot(createdAt, plugins, rawPlugins);
+  }
+
   @Override
   public LocalDateTime getCurrentCreatedAt() {
-    if (client.admin().indices().prepareAliasesExist(ALIAS).get().exists()) {
-      final String index = client.admin().indices().prepareGetAliases(ALIAS).get().getAliases().iterator().next().key;
-      final String timestamp = index.substring(INDEX_PREFIX.length());
+    final String index = getAliasedIndex();
+    if (index != null) {
+      final Map<String, Object> meta = getIndexMeta(index);
+      final String timestamp = meta != null && meta.get(META_CREATED_AT) != null
+        ? meta.get(META_CREATED_AT).toString()
+        : index.substring(INDEX_PREFIX.length());
       try {
         return LocalDateTime.parse(timestamp, TIMESTAMP_FORMATTER);
       } catch (Exception e) {
@@ -161,4 +405,56 @@ public class ElasticsearchPrepareDatastoreService implements PrepareDatastoreSer
       return null;
     }
   }
+
+  @FunctionalInterface
+  private interface BulkRequests {
+    void add(BulkProcessor bulkProcessor) throws Exception;
+  }
+
+  /**
+   * <p>Logs timing of each bulk request sent by the <code>BulkProcessor</code> and counts the plugins that couldn't be
+   * indexed once retries were exhausted</p>
+   */
+  private class BulkListener implements BulkProcessor.Listener {
+
+    private final Map<Long, Long> startTimes = new ConcurrentHashMap<>();
+    private final AtomicInteger failures = new AtomicInteger();
+
+    @Override
+    public void beforeBulk(long executionId, BulkRequest request) {
+      startTimes.put(executionId, System.currentTimeMillis());
+    }
+
+    @Override
+    public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+      final long elapsed = elapsed(executionId);
+      if (response.hasFailures()) {
+        for (BulkItemResponse item : response.getItems()) {
+          if (item.isFailed()) {
+            logger.warn(String.format("Problem indexing: %s", item.getFailureMessage()));
+            failures.incrementAndGet();
+          }
+        }
+      }
+      logger.info(String.format("Bulk %d indexed %d plugins (%d bytes) in %dms (took %dms)",
+        executionId, request.numberOfActions(), request.estimatedSizeInBytes(), elapsed, response.getTookInMillis()));
+    }
+
+    @Override
+    public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+      logger.error(String.format("Bulk %d of %d plugins failed after %dms", executionId, request.numberOfActions(), elapsed(executionId)), failure);
+      failures.addAndGet(request.numberOfActions());
+    }
+
+    int getFailures() {
+      return failures.get();
+    }
+
+    private long elapsed(long executionId) {
+      final Long start = startTimes.remove(executionId);
+      return start != null ? System.currentTimeMillis() - start : -1;
+    }
+
+  }
+
 }
@@ -54,19 +54,17 @@ public class GithubExtractor implements WikiExtractor {
     final Document html = Jsoup.parse(apiContent);
     final Element mainDiv = html.getElementsByTag("body").get(0).child(0);
     //TODO(oleg_nenashev): Support organization and branch customization?
-    convertLinksToAbsolute(service, mainDiv, "jenkinsci", matcher.group(1), "master");
+    convertLinksToAbsolute(mainDiv, "jenkinsci", matcher.group(1), "master");
     return mainDiv.toString();
   }
 
-  private void convertLinksToAbsolute(HttpClientWikiService service, Element wikiContent, String orgName, String repoName, String branch) {
+  private void convertLinksToAbsolute(Element wikiContent, String orgName, String repoName, String branch) {
     String documentationHost = String.format("https://github.com/%s/%s/blob/%s", orgName, repoName, branch);
     String imageHost = String.format("https://cdn.jsdelivr.net/gh/%s/%s@%s", orgName, repoName, branch);
 
     // Relative hyperlinks, we resolve "/docs/rest-api.adoc" as https://github.com/jenkinsci/folder-auth-plugin/blob/master/docs/rest-api.adoc
-    wikiContent.getElementsByAttribute("href").forEach(element -> service.replaceAttribute(element, "href", documentationHost, "/"));
-    
     // Relative image inclusions, we resolve /docs/images/screenshot.png as https://cdn.jsdelivr.net/gh/jenkinsci/folder-auth-plugin@master/docs/images/screenshot.png
-    wikiContent.getElementsByAttribute("src").forEach(element -> service.replaceAttribute(element, "src", imageHost, "/"));
+    new WikiContentCleaner(documentationHost, "/", imageHost, "/", false).clean(wikiContent);
   }
 
   @Override
@@ -1,19 +1,22 @@
 package io.jenkins.plugins.services.impl;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.jenkins.plugins.services.HttpClientPool;
+import io.jenkins.plugins.services.PrerenderedWikiContent;
 import io.jenkins.plugins.services.ServiceException;
 import io.jenkins.plugins.services.WikiService;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpStatus;
-import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.util.EntityUtils;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
@@ -23,22 +26,51 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 /**
  * <p>Implementation of <code>WikiService</code> powered by <code>HttpClient</code></p>
  *
- * <p>For performance reasons the content for a plugin url is cached using a <code>LoadingCache</code> for 6 hours</p>
+ * <p>For performance reasons the content for a plugin url is cached using a <code>LoadingCache</code>. Content older
+ * than <code>WIKI_REFRESH_HOURS</code> (default 6) is reloaded in the background while the cached content keeps being
+ * served, and only content not used for <code>WIKI_EXPIRE_HOURS</code> (default 48) is dropped. Concurrent requests for
+ * content that isn't cached yet wait on a single fetch. A failed fetch isn't retried for
+ * <code>WIKI_FAILURE_MINUTES</code> (default 5) so an unavailable wiki doesn't slow down every request.</p>
+ *
+ * <p>When <code>WIKI_CACHE_DIR</code> is set content is also kept on disk in a <code>WikiContentStore</code> so it
+ * survives restarts. Stored content is revalidated with <code>If-None-Match</code> once it's due for a refresh and is
+ * served as is if the wiki can't be reached.</p>
+ *
+ * <p>Content rendered while generating the plugin data is served from <code>PrerenderedWikiContent</code> before any
+ * of the above.</p>
+ *
+ * <p>Content is fetched with the shared <code>HttpClientPool</code> so connections to the wiki and GitHub are
+ * reused</p>
  */
 public class HttpClientWikiService implements WikiService {
 
   private Logger logger = LoggerFactory.getLogger(HttpClientWikiService.class);
 
+  private static final long REFRESH_HOURS = Long.valueOf(System.getenv().getOrDefault("WIKI_REFRESH_HOURS", "6"));
+  private static final long EXPIRE_HOURS = Long.valueOf(System.getenv().getOrDefault("WIKI_EXPIRE_HOURS", "48"));
+  private static final long FAILURE_MINUTES = Long.valueOf(System.getenv().getOrDefault("WIKI_FAILURE_MINUTES", "5"));
+  private static final int REFRESH_THREADS = Integer.valueOf(System.getenv().getOrDefault("WIKI_REFRESH_THREADS", "4"));
+
+  private final HttpClientPool httpClientPool;
+  private final PrerenderedWikiContent prerenderedWikiContent;
+
   private LoadingCache<String, String> wikiContentCache;
+  private WikiContentStore contentStore;
+  private Cache<String, Boolean> failureCache;
+  private ExecutorService refreshExecutor;
 
   public static final List<WikiExtractor> WIKI_URLS = new ArrayList<>();
 
@@ -50,18 +82,52 @@ public class HttpClientWikiService implements WikiService {
       WIKI_URLS.add(new GithubExtractor());
   }
 
+  @Inject
+  public HttpClientWikiService(HttpClientPool httpClientPool, PrerenderedWikiContent prerenderedWikiContent) {
+    this.httpClientPool = httpClientPool;
+    this.prerenderedWikiContent = prerenderedWikiContent;
+  }
+
   @PostConstruct
   public void postConstruct() {
-    wikiContentCache = CacheBuilder.newBuilder()
-      .expireAfterWrite(6, TimeUnit.HOURS)
+    contentStore = new WikiContentStore(StringUtils.trimToNull(System.getenv("WIKI_CACHE_DIR")));
+    refreshExecutor = Executors.newFixedThreadPool(REFRESH_THREADS,
+      new ThreadFactoryBuilder().setNameFormat("wiki-refresh-%d").setDaemon(true).build());
+    failureCache = CacheBuilder.newBuilder()
+      .expireAfterWrite(FAILURE_MINUTES, TimeUnit.MINUTES)
       .maximumSize(1000)
-      .build(new CacheLoader<String, String>() {
-        @Override
-        public String load(String url) throws Exception {
-          // Load and clean the wiki content
-          return doGetWikiContent(url);
+      .build();
+    final CacheLoader<String, String> loader = new CacheLoader<String, String>() {
+      @Override
+      public String load(String url) throws Exception {
+        // Load and clean the wiki content
+        final String content = doGetWikiContent(url);
+        if (content == null) {
+          failureCache.put(url, Boolean.TRUE);
+          throw new IOException(String.format("Unable to get wiki content from %s", url));
+        }
+        return content;
+      }
+
+      @Override
+      public ListenableFuture<String> reload(String url, String oldValue) throws Exception {
+        // Keep serving what we have until the next refresh rather than retrying a failing wiki
+        if (failureCache.getIfPresent(url) != null) {
+          return Futures.immediateFuture(oldValue);
         }
-      });
+        return super.reload(url, oldValue);
+      }
+    };
+    wikiContentCache = CacheBuilder.newBuilder()
+      .refreshAfterWrite(REFRESH_HOURS, TimeUnit.HOURS)
+      .expireAfterAccess(EXPIRE_HOURS, TimeUnit.HOURS)
+      .maximumSize(1000)
+      .build(CacheLoader.asyncReloading(loader, refreshExecutor));
+  }
+
+  @PreDestroy
+  public void preDestroy() {
+    refreshExecutor.shutdownNow();
   }
 
   public boolean isValidWikiUrl(String url) {
@@ -71,9 +137,17 @@ public class HttpClientWikiService implements WikiService {
   @Override
   public String getWikiContent(String url) throws ServiceException {
     if (StringUtils.isNotBlank(url)) {
+      final String prerendered = prerenderedWikiContent.get(url);
+      if (prerendered != null) {
+        return prerendered;
+      }
       if (!isValidWikiUrl(url)) {
         return getNonWikiContent(url);
       }
+      if (failureCache.getIfPresent(url) != null) {
+        final String content = wikiContentCache.getIfPresent(url);
+        return content != null ? content : getNonWikiContent(url);
+      }
       try {
         // This is what fires the CacheLoader that's defined in the postConstruct.
         return wikiContentCache.get(url);
@@ -86,34 +160,67 @@ public class HttpClientWikiService implements WikiService {
     }
   }
 
+  /**
+   * <p>Fetch and clean content for <code>url</code> without going through the cache</p>
+   *
+   * @param url wiki url
+   * @return cleaned content, null if <code>url</code> isn't a wiki url or the content couldn't be fetched
+   */
+  public String fetchWikiContent(String url) {
+    return StringUtils.isNotBlank(url) && isValidWikiUrl(url) ? doGetWikiContent(url) : null;
+  }
+
   private String doGetWikiContent(String wikiUrl) {
     for (WikiExtractor extractor: WIKI_URLS) {
        String apiUrl = extractor.getApiUrl(wikiUrl);
        if (apiUrl != null) {
+         final WikiContentStore.Entry stored = contentStore.get(wikiUrl);
+         final long now = System.currentTimeMillis();
+         if (stored != null && now - stored.getTimestamp() < TimeUnit.HOURS.toMillis(REFRESH_HOURS)) {
+           return stored.getContent();
+         }
          List<Header> headers = extractor.getHeaders();
-         String content = getHttpContent(apiUrl, headers);
+         HttpContent content = getHttpContent(apiUrl, headers, stored != null ? stored.getEtag() : null);
          if (content == null) {
-           return null; // error logged in getHttpContent
+           // error logged in getHttpContent, stale content is better than none
+           return stored != null ? stored.getContent() : null;
+         }
+         if (content.isNotModified() && stored != null) {
+           contentStore.put(new WikiContentStore.Entry(wikiUrl, stored.getEtag(), now, stored.getContent()));
+           return stored.getContent();
+         }
+         final String html = extractor.extractHtml(content.getBody(), wikiUrl, this);
+         if (html != null) {
+           contentStore.put(new WikiContentStore.Entry(wikiUrl, content.getEtag(), now, html));
          }
-         return extractor.extractHtml(content, wikiUrl, this);
+         return html;
        }
      }
      return null;
   }
 
-  private String getHttpContent(String url, List<Header> headers) {
+  /**
+   * @param etag ETag of the previous response, sent as <code>If-None-Match</code> if not null
+   * @return response content, null if there was a problem
+   */
+  private HttpContent getHttpContent(String url, List<Header> headers, String etag) {
     final HttpGet get = new HttpGet(url);
     headers.stream().forEach(get::setHeader);
-    try (final CloseableHttpClient httpClient = getHttpClient();
-        final CloseableHttpResponse response = httpClient.execute(get)) {
-      if (response.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
+    if (etag != null) {
+      get.setHeader("If-None-Match", etag);
+    }
+    try (final CloseableHttpResponse response = httpClientPool.getHttpClient().execute(get)) {
+      final int status = response.getStatusLine().getStatusCode();
+      if (status == HttpStatus.SC_NOT_MODIFIED) {
+        return new HttpContent(null, etag);
+      } else if (status == HttpStatus.SC_OK) {
         final HttpEntity entity = response.getEntity();
         final String html = EntityUtils.toString(entity);
         EntityUtils.consume(entity);
-        return html;
+        final Header etagHeader = response.getLastHeader("ETag");
+        return new HttpContent(html, etagHeader != null ? etagHeader.getValue() : null);
       } else {
-        final String msg = String.format("Unable to get content from %s - returned status code %d", url,
-            response.getStatusLine().getStatusCode());
+        final String msg = String.format("Unable to get content from %s - returned status code %d", url, status);
         logger.warn(msg);
         return null;
       }
@@ -135,13 +242,7 @@ public class HttpClientWikiService implements WikiService {
    * @param path path to parent folder, including initial and trailing slash
    */
   public void replaceAttribute(Element element, String attributeName, String host, String path) {
-    final String attribute = element.attr(attributeName);
-    if (attribute.startsWith("/")) {
-      element.attr(attributeName, host + attribute);
-    } else if (!attribute.startsWith("http:") && !attribute.startsWith("https:")
-        && !attribute.startsWith("#")) {
-      element.attr(attributeName, host + path + attribute);
-    }
+    WikiContentCleaner.replaceAttribute(element, attributeName, host, path);
   }
 
   public static String getNonWikiContent(String url) {
@@ -161,15 +262,6 @@ public class HttpClientWikiService implements WikiService {
     return body.html();
   }
 
-  private CloseableHttpClient getHttpClient() {
-    final RequestConfig requestConfig = RequestConfig.copy(RequestConfig.DEFAULT)
-      .setConnectionRequestTimeout(5000)
-      .setConnectTimeout(5000)
-      .setSocketTimeout(5000)
-      .build();
-    return HttpClients.custom().setDefaultRequestConfig(requestConfig).build();
-  }
-
   public Element getElementByClassFromText(String className, String content) {
     if (content == null || content.trim().isEmpty()) {
       logger.warn("Can't clean null content");
@@ -190,8 +282,31 @@ public class HttpClientWikiService implements WikiService {
    * @param path path to parent folder, including initial and trailing slash
    */
   public void convertLinksToAbsolute(Element wikiContent, String host, String path) {
-    wikiContent.getElementsByAttribute("href").forEach(element -> replaceAttribute(element, "href", host, path));
-    wikiContent.getElementsByAttribute("src").forEach(element -> replaceAttribute(element, "src", host, path));
+    new WikiContentCleaner(host, path, host, path, false).clean(wikiContent);
+  }
+
+  private static final class HttpContent {
+
+    private final String body;
+    private final String etag;
+
+    HttpContent(String body, String etag) {
+      this.body = body;
+      this.etag = etag;
+    }
+
+    String getBody() {
+      return body;
+    }
+
+    String getEtag() {
+      return etag;
+    }
+
+    boolean isNotModified() {
+      return body == null;
+    }
+
   }
 
 }
@@ -0,0 +1,199 @@
+package io.jenkins.plugins.services.impl;
+
+import io.jenkins.plugins.datastore.LuceneIndex;
+import io.jenkins.plugins.datastore.LuceneTransformer;
+import io.jenkins.plugins.datastore.PluginSnapshot;
+import io.jenkins.plugins.models.*;
+import io.jenkins.plugins.services.SearchOptions;
+import io.jenkins.plugins.services.ServiceException;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.*;
+import org.apache.lucene.util.QueryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * <p>Implementation of <code>DatastoreService</code> powered by an in-process Lucene index</p>
+ *
+ * <p>Queries mirror the ones <code>ElasticsearchDatastoreService</code> sends to Elasticsearch so both return the
+ * same plugins in the same order</p>
+ *
+ * @see LuceneIndex
+ */
+public class LuceneDatastoreService extends AbstractDatastoreService {
+
+  private final Logger logger = LoggerFactory.getLogger(LuceneDatastoreService.class);
+
+  @Inject
+  private LuceneIndex index;
+
+  private IndexSearcher searcher;
+
+  public LuceneDatastoreService() {
+  }
+
+  /**
+   * <p>Datastore over <code>index</code> for <code>snapshot</code>, before the snapshot is published</p>
+   *
+   * @param searcher searcher over the commit of <code>snapshot</code>, used instead of the one currently served
+   */
+  LuceneDatastoreService(LuceneIndex index, PluginSnapshot snapshot, IndexSearcher searcher) {
+    super(snapshot);
+    this.index = index;
+    this.searcher = searcher;
+  }
+
+  @Override
+  public Plugins search(SearchOptions searchOptions) throws ServiceException {
+    try {
+      return doSearch(searchOptions, (searcher, topDocs, hits, pages) -> new Plugins(
+        LuceneTransformer.transformHits(searcher, hits, searchOptions.getFields()),
+        searchOptions.getPage(), pages, topDocs.totalHits, searchOptions.getLimit()
+      ), () -> new Plugins(Collections.emptyList(), searchOptions.getPage(), 0, 0, searchOptions.getLimit()));
+    } catch (Exception e) {
+      logger.error("Problem executing lucene query", e);
+      throw new ServiceException("Problem executing lucene query", e);
+    }
+  }
+
+  @Override
+  public RawPlugins searchRaw(SearchOptions searchOptions) throws ServiceException {
+    try {
+      return doSearch(searchOptions, (searcher, topDocs, hits, pages) -> new RawPlugins(
+        LuceneTransformer.transformRawHits(searcher, hits, searchOptions.getFields()),
+        searchOptions.getPage(), pages, topDocs.totalHits, searchOptions.getLimit()
+      ), () -> new RawPlugins(Collections.emptyList(), searchOptions.getPage(), 0, 0, searchOptions.getLimit()));
+    } catch (Exception e) {
+      logger.error("Problem executing lucene query", e);
+      throw new ServiceException("Problem executing lucene query", e);
+    }
+  }
+
+  private <T> T doSearch(SearchOptions searchOptions, SearchResultTransformer<T> transformer, Supplier<T> empty) throws IOException {
+    final int from = (searchOptions.getPage() - 1) * searchOptions.getLimit();
+    final Query query = buildQuery(searchOptions);
+    final Sort sort = buildSort(searchOptions);
+    final IndexSearcher searcher = this.searcher != null ? this.searcher : index.acquire();
+    try {
+      final int size = Math.max(from + searchOptions.getLimit(), 1);
+      final TopDocs topDocs = sort != null ? searcher.search(query, size, sort) : searcher.search(query, size);
+      if (topDocs.scoreDocs.length <= from) {
+        return empty.get();
+      }
+      final ScoreDoc[] hits = Arrays.copyOfRange(topDocs.scoreDocs, from, topDocs.scoreDocs.length);
+      final long pages = (topDocs.totalHits + searchOptions.getLimit() - 1) / searchOptions.getLimit();
+      return transformer.transform(searcher, topDocs, hits, pages);
+    } finally {
+      if (searcher != this.searcher) {
+        index.release(searcher);
+      }
+    }
+  }
+
+  private Query buildQuery(SearchOptions searchOptions) {
+    final BooleanQuery.Builder queryBuilder = new BooleanQuery.Builder();
+    if (searchOptions.getQuery() != null) {
+      final String query = searchOptions.getQuery();
+      final BooleanQuery.Builder should = new BooleanQuery.Builder();
+      addMatch(should, LuceneTransformer.TITLE, query);
+      should.add(new TermQuery(new Term(LuceneTransformer.NAME, query)), BooleanClause.Occur.SHOULD);
+      should.add(new TermQuery(new Term(LuceneTransformer.MAINTAINERS_ID, query)), BooleanClause.Occur.SHOULD);
+      addMatch(should, LuceneTransformer.MAINTAINERS_NAME, query);
+      addMatch(should, LuceneTransformer.EXCERPT, query);
+      final List<String> terms = Arrays.asList(query.toLowerCase().split(","));
+      should.add(termsQuery(LuceneTransformer.CATEGORIES, terms), BooleanClause.Occur.SHOULD);
+      should.add(termsQuery(LuceneTransformer.LABELS, terms), BooleanClause.Occur.SHOULD);
+      queryBuilder.add(should.build(), BooleanClause.Occur.MUST);
+    } else {
+      queryBuilder.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+    }
+    if (searchOptions.hasFilters()) {
+      if (!searchOptions.getCategories().isEmpty() || !searchOptions.getLabels().isEmpty()) {
+        queryBuilder.add(new BooleanQuery.Builder()
+          .add(termsQuery(LuceneTransformer.CATEGORIES, searchOptions.getCategories()), BooleanClause.Occur.SHOULD)
+          .add(termsQuery(LuceneTransformer.LABELS, searchOptions.getLabels()), BooleanClause.Occur.SHOULD)
+          .build(), BooleanClause.Occur.FILTER);
+      }
+      if (!searchOptions.getMaintainers().isEmpty()) {
+        final BooleanQuery.Builder maintainers = new BooleanQuery.Builder();
+        for (String maintainer : searchOptions.getMaintainers()) {
+          maintainers.add(new TermQuery(new Term(LuceneTransformer.MAINTAINERS_ID, maintainer)), BooleanClause.Occur.SHOULD);
+          addMatch(maintainers, LuceneTransformer.MAINTAINERS_NAME, maintainer);
+        }
+        queryBuilder.add(maintainers.build(), BooleanClause.Occur.FILTER);
+      }
+      if (searchOptions.getCore() != null) {
+        queryBuilder.add(new TermQuery(new Term(LuceneTransformer.REQUIRED_CORE, searchOptions.getCore())), BooleanClause.Occur.FILTER);
+      }
+    }
+    return queryBuilder.build();
+  }
+
+  /**
+   * @return sort for the search, null to sort by relevance
+   */
+  private Sort buildSort(SearchOptions searchOptions) {
+    if (searchOptions.getSortBy() == null) {
+      return null;
+    }
+    switch (searchOptions.getSortBy()) {
+      case FIRST_RELEASE:
+        // Elasticsearch falls through to also sort by installs
+        return new Sort(descending(LuceneTransformer.FIRST_RELEASE), descending(LuceneTransformer.CURRENT_INSTALLS));
+      case INSTALLED:
+        return new Sort(descending(LuceneTransformer.CURRENT_INSTALLS));
+      case NAME:
+        return new Sort(ascending(LuceneTransformer.NAME_RAW));
+      case TITLE:
+        return new Sort(ascending(LuceneTransformer.TITLE_RAW));
+      case TREND:
+        return new Sort(descending(LuceneTransformer.TREND));
+      case UPDATED:
+        return new Sort(descending(LuceneTransformer.RELEASE_TIMESTAMP));
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * <p>Missing values are sorted last, as Elasticsearch does</p>
+   */
+  private SortField descending(String field) {
+    final SortField sortField = new SortField(field, SortField.Type.LONG, true);
+    sortField.setMissingValue(Long.MIN_VALUE);
+    return sortField;
+  }
+
+  private SortField ascending(String field) {
+    final SortField sortField = new SortField(field, SortField.Type.STRING, false);
+    sortField.setMissingValue(SortField.STRING_LAST);
+    return sortField;
+  }
+
+  /**
+   * <p>Equivalent of an Elasticsearch <code>match</code> query: any of the analyzed terms of <code>text</code></p>
+   */
+  private void addMatch(BooleanQuery.Builder builder, String field, String text) {
+    final Query query = new QueryBuilder(index.getAnalyzer()).createBooleanQuery(field, text);
+    if (query != null) {
+      builder.add(query, BooleanClause.Occur.SHOULD);
+    }
+  }
+
+  private Query termsQuery(String field, Collection<String> values) {
+    final BooleanQuery.Builder builder = new BooleanQuery.Builder();
+    values.forEach(value -> builder.add(new TermQuery(new Term(field, value)), BooleanClause.Occur.SHOULD));
+    return builder.build();
+  }
+
+  @FunctionalInterface
+  private interface SearchResultTransformer<T> {
+    T transform(IndexSearcher searcher, TopDocs topDocs, ScoreDoc[] hits, long pages) throws IOException;
+  }
+
+}
@@ -0,0 +1,135 @@
+package io.jenkins.plugins.services.impl;
+
+import io.jenkins.plugins.commons.JsonObjectMapper;
+import io.jenkins.plugins.datastore.ElasticsearchTransformer;
+import io.jenkins.plugins.datastore.LuceneIndex;
+import io.jenkins.plugins.datastore.LuceneTransformer;
+import io.jenkins.plugins.datastore.PluginSnapshot;
+import io.jenkins.plugins.datastore.PluginSnapshotHolder;
+import io.jenkins.plugins.models.Plugin;
+import io.jenkins.plugins.models.RawPlugin;
+import io.jenkins.plugins.services.ConfigurationService;
+import io.jenkins.plugins.services.PluginDataFile;
+import io.jenkins.plugins.services.PluginStatsStore;
+import io.jenkins.plugins.services.PrerenderedWikiContent;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.search.IndexSearcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * <p>Populates the <code>LuceneIndex</code></p>
+ *
+ * <p>Every data version replaces the whole index. The catalog is small enough that rewriting it takes less than
+ * comparing it, and the new version only becomes searchable once it has been committed in full. Anything written
+ * for a version that fails before its commit is rolled back.</p>
+ */
+public class LucenePrepareDatastoreService extends AbstractPrepareDatastoreService {
+
+  private final Logger logger = LoggerFactory.getLogger(LucenePrepareDatastoreService.class);
+
+  private static final String COMMIT_CREATED_AT = "createdAt";
+
+  private LuceneIndex index;
+
+  @Inject
+  public LucenePrepareDatastoreService(ConfigurationService configurationService,
+                                       ScheduledExecutorService scheduledExecutorService,
+                                       LuceneIndex index,
+                                       PluginSnapshotHolder snapshotHolder,
+                                       PrerenderedWikiContent prerenderedWikiContent,
+                                       PluginStatsStore statsStore) {
+    super(configurationService, scheduledExecutorService, snapshotHolder, prerenderedWikiContent, statsStore);
+    this.index = index;
+  }
+
+  @Override
+  protected synchronized void index(PluginDataFile data) {
+    final LocalDateTime createdAt = getCreatedAt(data);
+    final long start = System.currentTimeMillis();
+    try {
+      final IndexWriter writer = index.getWriter();
+      final Map<String, Plugin> plugins = new HashMap<>();
+      final Map<String, RawPlugin> rawPlugins = new HashMap<>();
+      final OutOfLineContent outOfLine = new OutOfLineContent();
+      try {
+        writer.deleteAll();
+        forEachSource(data, outOfLine, (plugin, source) -> {
+          writer.addDocument(LuceneTransformer.toDocument(plugin, source));
+          // Read back like the Elasticsearch snapshot so it matches what searches return
+          plugins.put(plugin.getName(), JsonObjectMapper.getObjectMapper().readValue(source, Plugin.class));
+          rawPlugins.put(plugin.getName(), ElasticsearchTransformer.transformRaw(source));
+        });
+        writer.forceMerge(1);
+        // Only part of the commit below, a failure discards it along with the documents
+        writer.setCommitData(Collections.singletonMap(COMMIT_CREATED_AT, TIMESTAMP_FORMATTER.format(createdAt)));
+        writer.commit();
+      } catch (Exception e) {
+        rollback(e);
+        throw e;
+      }
+      logger.info(String.format("Indexed %d plugins in %dms", plugins.size(), System.currentTimeMillis() - start));
+      final PluginSnapshot snapshot = new PluginSnapshot(createdAt, plugins, rawPlugins);
+      // Warm on the new commit while searches are still served from the old one
+      final IndexSearcher searcher = index.open();
+      try {
+        prepare(snapshot, new LuceneDatastoreService(index, snapshot, searcher));
+      } finally {
+        searcher.getIndexReader().close();
+      }
+      publish(snapshot, outOfLine);
+    } catch (Exception e) {
+      logger.error("Problem indexing", e);
+      throw new RuntimeException("Problem indexing", e);
+    }
+  }
+
+  /**
+   * <p>Searches switch to the new commit along with the snapshot, so they never disagree on the data version</p>
+   */
+  @Override
+  protected void publish(PluginSnapshot snapshot, OutOfLineContent outOfLine) {
+    try {
+      index.refresh();
+    } catch (IOException e) {
+      throw new RuntimeException("Problem refreshing index", e);
+    }
+    super.publish(snapshot, outOfLine);
+  }
+
+  /**
+   * <p>Leave the index as it was at the last commit so the next data version starts from a clean writer</p>
+   */
+  private void rollback(Exception cause) {
+    try {
+      index.rollback();
+      logger.info("Rolled back index");
+    } catch (Exception e) {
+      cause.addSuppressed(e);
+    }
+  }
+
+  @Override
+  public LocalDateTime getCurrentCreatedAt() {
+    final String timestamp = index.getCommitData().get(COMMIT_CREATED_AT);
+    if (timestamp == null) {
+      logger.info("Index is empty");
+      return null;
+    }
+    try {
+      return LocalDateTime.parse(timestamp, TIMESTAMP_FORMATTER);
+    } catch (Exception e) {
+      logger.error("Problem parsing timestamp from index", e);
+      return null;
+    }
+  }
+
+}
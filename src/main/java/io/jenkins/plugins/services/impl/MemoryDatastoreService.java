@@ -0,0 +1,207 @@
+package io.jenkins.plugins.services.impl;
+
+import io.jenkins.plugins.commons.JsonObjectMapper;
+import io.jenkins.plugins.datastore.ColumnarPluginIndex;
+import io.jenkins.plugins.datastore.ColumnarPluginIndexHolder;
+import io.jenkins.plugins.datastore.PluginSnapshot;
+import io.jenkins.plugins.datastore.SourceFilter;
+import io.jenkins.plugins.models.*;
+import io.jenkins.plugins.services.SearchOptions;
+import io.jenkins.plugins.services.ServiceException;
+import io.jenkins.plugins.services.SortBy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * <p>Implementation of <code>DatastoreService</code> answering from a <code>ColumnarPluginIndex</code> in memory</p>
+ *
+ * <p>Queries and filters match the same plugins as <code>ElasticsearchDatastoreService</code>. Relevance is
+ * approximated by the number of fields a query matches, ties keeping index order.</p>
+ *
+ * <p>Like <code>getPlugin</code>, searches return copies so callers can't modify the plugins of the index</p>
+ *
+ * @see ColumnarPluginIndex
+ */
+public class MemoryDatastoreService extends AbstractDatastoreService {
+
+  private final Logger logger = LoggerFactory.getLogger(MemoryDatastoreService.class);
+
+  @Inject
+  private ColumnarPluginIndexHolder indexHolder;
+
+  public MemoryDatastoreService() {
+  }
+
+  /**
+   * <p>Datastore over <code>index</code> before it's swapped in</p>
+   */
+  MemoryDatastoreService(ColumnarPluginIndex index, PluginSnapshot snapshot) {
+    super(snapshot);
+    this.indexHolder = new ColumnarPluginIndexHolder();
+    this.indexHolder.set(index);
+  }
+
+  @Override
+  public Plugins search(SearchOptions searchOptions) throws ServiceException {
+    final ColumnarPluginIndex index = indexHolder.get();
+    final BitSet matches = index != null ? match(index, searchOptions) : new BitSet();
+    final int total = matches.cardinality();
+    if (total == 0) {
+      return new Plugins(Collections.emptyList(), searchOptions.getPage(), 0, 0, searchOptions.getLimit());
+    }
+    final int[] ids = page(index, matches, searchOptions);
+    final List<Plugin> plugins = new ArrayList<>(ids.length);
+    try {
+      for (int id : ids) {
+        plugins.add(searchOptions.getFields().isEmpty()
+          ? new Plugin(index.getPlugin(id))
+          : JsonObjectMapper.getObjectMapper().readValue(SourceFilter.filter(index.getSource(id), searchOptions.getFields()), Plugin.class));
+      }
+    } catch (IOException e) {
+      logger.error("Problem filtering plugin fields", e);
+      throw new ServiceException("Problem filtering plugin fields", e);
+    }
+    return new Plugins(plugins, searchOptions.getPage(), pages(total, searchOptions), total, searchOptions.getLimit());
+  }
+
+  @Override
+  public RawPlugins searchRaw(SearchOptions searchOptions) throws ServiceException {
+    final ColumnarPluginIndex index = indexHolder.get();
+    final BitSet matches = index != null ? match(index, searchOptions) : new BitSet();
+    final int total = matches.cardinality();
+    if (total == 0) {
+      return new RawPlugins(Collections.emptyList(), searchOptions.getPage(), 0, 0, searchOptions.getLimit());
+    }
+    final int[] ids = page(index, matches, searchOptions);
+    final List<byte[]> sources = new ArrayList<>(ids.length);
+    try {
+      for (int id : ids) {
+        sources.add(SourceFilter.filter(index.getSource(id), searchOptions.getFields()));
+      }
+    } catch (IOException e) {
+      logger.error("Problem filtering plugin fields", e);
+      throw new ServiceException("Problem filtering plugin fields", e);
+    }
+    return new RawPlugins(sources, searchOptions.getPage(), pages(total, searchOptions), total, searchOptions.getLimit());
+  }
+
+  private long pages(int total, SearchOptions searchOptions) {
+    return (total + searchOptions.getLimit() - 1) / searchOptions.getLimit();
+  }
+
+  /**
+   * @return plugins matching the query and every filter of <code>searchOptions</code>
+   */
+  private BitSet match(ColumnarPluginIndex index, SearchOptions searchOptions) {
+    final BitSet matches;
+    if (searchOptions.getQuery() != null) {
+      matches = new BitSet(index.size());
+      queryClauses(index, searchOptions.getQuery()).forEach(matches::or);
+    } else {
+      matches = index.all();
+    }
+    if (searchOptions.hasFilters()) {
+      matches.and(index.getFacets().matching(searchOptions.getCategories(), searchOptions.getLabels(),
+        searchOptions.getMaintainers(), searchOptions.getCore()));
+    }
+    return matches;
+  }
+
+  /**
+   * <p>Plugins matched by each of the alternatives of a query, same fields as the Elasticsearch query</p>
+   */
+  private List<BitSet> queryClauses(ColumnarPluginIndex index, String query) {
+    final List<String> terms = Arrays.asList(query.toLowerCase().split(","));
+    return Arrays.asList(
+      index.title(query),
+      index.name(query),
+      index.getFacets().maintainerIds(Collections.singleton(query)),
+      index.getFacets().maintainerNames(query),
+      index.excerpt(query),
+      index.getFacets().categories(terms),
+      index.getFacets().labels(terms)
+    );
+  }
+
+  /**
+   * @return ids of the matching plugins on the requested page, in the requested order
+   */
+  private int[] page(ColumnarPluginIndex index, BitSet matches, SearchOptions searchOptions) {
+    final int from = (searchOptions.getPage() - 1) * searchOptions.getLimit();
+    final int[] order = getOrder(index, searchOptions.getSortBy());
+    if (order == null && searchOptions.getQuery() != null) {
+      return pageByRelevance(index, matches, searchOptions.getQuery(), from, searchOptions.getLimit());
+    }
+    final int[] page = new int[Math.max(0, Math.min(searchOptions.getLimit(), matches.cardinality() - from))];
+    int skipped = 0;
+    int taken = 0;
+    if (order != null) {
+      for (int i = 0; i < order.length && taken < page.length; i++) {
+        if (matches.get(order[i]) && skipped++ >= from) {
+          page[taken++] = order[i];
+        }
+      }
+    } else {
+      for (int id = matches.nextSetBit(0); id >= 0 && taken < page.length; id = matches.nextSetBit(id + 1)) {
+        if (skipped++ >= from) {
+          page[taken++] = id;
+        }
+      }
+    }
+    return page;
+  }
+
+  /**
+   * <p>Scores are packed together with the id into a single <code>long</code> so ordering is a primitive sort</p>
+   */
+  private int[] pageByRelevance(ColumnarPluginIndex index, BitSet matches, String query, int from, int limit) {
+    final int[] scores = new int[index.size()];
+    for (BitSet clause : queryClauses(index, query)) {
+      for (int id = clause.nextSetBit(0); id >= 0; id = clause.nextSetBit(id + 1)) {
+        scores[id]++;
+      }
+    }
+    final long[] keys = new long[matches.cardinality()];
+    int i = 0;
+    for (int id = matches.nextSetBit(0); id >= 0; id = matches.nextSetBit(id + 1)) {
+      // Higher score first, then lower id first
+      keys[i++] = ((long) -scores[id] << 32) | id;
+    }
+    Arrays.sort(keys);
+    final int[] page = new int[Math.max(0, Math.min(limit, keys.length - from))];
+    for (int j = 0; j < page.length; j++) {
+      page[j] = (int) keys[from + j];
+    }
+    return page;
+  }
+
+  /**
+   * @return precomputed order for <code>sortBy</code>, null for relevance
+   */
+  private int[] getOrder(ColumnarPluginIndex index, SortBy sortBy) {
+    if (sortBy == null) {
+      return null;
+    }
+    switch (sortBy) {
+      case FIRST_RELEASE:
+        return index.byFirstRelease();
+      case INSTALLED:
+        return index.byInstalls();
+      case NAME:
+        return index.byName();
+      case TITLE:
+        return index.byTitle();
+      case TREND:
+        return index.byTrend();
+      case UPDATED:
+        return index.byReleaseTimestamp();
+      default:
+        return null;
+    }
+  }
+
+}
@@ -0,0 +1,85 @@
+package io.jenkins.plugins.services.impl;
+
+import io.jenkins.plugins.commons.JsonObjectMapper;
+import io.jenkins.plugins.datastore.ColumnarPluginIndex;
+import io.jenkins.plugins.datastore.ColumnarPluginIndexHolder;
+import io.jenkins.plugins.datastore.ElasticsearchTransformer;
+import io.jenkins.plugins.datastore.PluginSnapshot;
+import io.jenkins.plugins.datastore.PluginSnapshotHolder;
+import io.jenkins.plugins.models.Plugin;
+import io.jenkins.plugins.models.RawPlugin;
+import io.jenkins.plugins.services.ConfigurationService;
+import io.jenkins.plugins.services.PluginDataFile;
+import io.jenkins.plugins.services.PluginStatsStore;
+import io.jenkins.plugins.services.PrerenderedWikiContent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * <p>Populates the <code>ColumnarPluginIndex</code></p>
+ *
+ * <p>The index and snapshot of a data version are built off to the side and swapped in once complete</p>
+ */
+public class MemoryPrepareDatastoreService extends AbstractPrepareDatastoreService {
+
+  private final Logger logger = LoggerFactory.getLogger(MemoryPrepareDatastoreService.class);
+
+  private ColumnarPluginIndexHolder indexHolder;
+  private volatile LocalDateTime createdAt;
+
+  @Inject
+  public MemoryPrepareDatastoreService(ConfigurationService configurationService,
+                                       ScheduledExecutorService scheduledExecutorService,
+                                       ColumnarPluginIndexHolder indexHolder,
+                                       PluginSnapshotHolder snapshotHolder,
+                                       PrerenderedWikiContent prerenderedWikiContent,
+                                       PluginStatsStore statsStore) {
+    super(configurationService, scheduledExecutorService, snapshotHolder, prerenderedWikiContent, statsStore);
+    this.indexHolder = indexHolder;
+  }
+
+  @Override
+  protected synchronized void index(PluginDataFile data) {
+    final LocalDateTime createdAt = getCreatedAt(data);
+    final long start = System.currentTimeMillis();
+    try {
+      final List<Plugin> plugins = new ArrayList<>();
+      final List<byte[]> sources = new ArrayList<>();
+      final Map<String, Plugin> pluginsByName = new HashMap<>();
+      final Map<String, RawPlugin> rawPlugins = new HashMap<>();
+      final OutOfLineContent outOfLine = new OutOfLineContent();
+      forEachSource(data, outOfLine, (plugin, source) -> {
+        // Read back like the Elasticsearch snapshot so it matches what searches return
+        final Plugin stored = JsonObjectMapper.getObjectMapper().readValue(source, Plugin.class);
+        plugins.add(stored);
+        sources.add(source);
+        pluginsByName.put(stored.getName(), stored);
+        rawPlugins.put(stored.getName(), ElasticsearchTransformer.transformRaw(source));
+      });
+      final ColumnarPluginIndex index = new ColumnarPluginIndex(plugins, sources);
+      final PluginSnapshot snapshot = new PluginSnapshot(createdAt, pluginsByName, rawPlugins);
+      logger.info(String.format("Indexed %d plugins in %dms", plugins.size(), System.currentTimeMillis() - start));
+      prepare(snapshot, new MemoryDatastoreService(index, snapshot));
+      indexHolder.set(index);
+      this.createdAt = createdAt;
+      publish(snapshot, outOfLine);
+    } catch (Exception e) {
+      logger.error("Problem indexing", e);
+      throw new RuntimeException("Problem indexing", e);
+    }
+  }
+
+  @Override
+  public LocalDateTime getCurrentCreatedAt() {
+    return createdAt;
+  }
+
+}
@@ -0,0 +1,43 @@
+package io.jenkins.plugins.services.impl;
+
+import io.jenkins.plugins.services.DataVersionEvent;
+import io.jenkins.plugins.services.DataVersionListener;
+import io.jenkins.plugins.services.DatastoreService;
+import io.jenkins.plugins.services.SearchOptions;
+import io.jenkins.plugins.services.SortBy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>Runs the searches every page load makes against a new data version before it's served</p>
+ *
+ * <p>Same options as the default <code>/plugins</code> search and <code>/plugins/installed</code>,
+ * <code>/new</code>, <code>/updated</code> and <code>/trend</code> so the first visitors after a swap don't pay for
+ * cold caches</p>
+ */
+public class SearchWarmer implements DataVersionListener {
+
+  private final Logger logger = LoggerFactory.getLogger(SearchWarmer.class);
+
+  private static final List<SearchOptions> SEARCHES = Arrays.asList(
+    new SearchOptions.Builder().build(),
+    new SearchOptions.Builder().withSortBy(SortBy.INSTALLED).withLimit(10).build(),
+    new SearchOptions.Builder().withSortBy(SortBy.FIRST_RELEASE).withLimit(10).build(),
+    new SearchOptions.Builder().withSortBy(SortBy.UPDATED).withLimit(10).build(),
+    new SearchOptions.Builder().withSortBy(SortBy.TREND).withLimit(10).build()
+  );
+
+  @Override
+  public void beforePublish(DataVersionEvent event, DatastoreService datastoreService) {
+    final long start = System.currentTimeMillis();
+    for (SearchOptions searchOptions : SEARCHES) {
+      datastoreService.searchRaw(searchOptions);
+    }
+    logger.info(String.format("Warmed %d searches for data version %s in %dms", SEARCHES.size(), event,
+      System.currentTimeMillis() - start));
+  }
+
+}
@@ -0,0 +1,142 @@
+package io.jenkins.plugins.services.impl;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.select.NodeTraversor;
+import org.jsoup.select.NodeVisitor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Cleans up wiki content in a single traversal of the parsed content</p>
+ *
+ * <p>Relative <code>href</code> and <code>src</code> attributes are made absolute as they're visited. Elements to
+ * remove, the Confluence "Plugin Information" table and tables of contents, are collected on the way and removed once
+ * the traversal is done. They're the same elements the former selector queries removed.</p>
+ */
+public class WikiContentCleaner {
+
+  private static final String PLUGIN_INFORMATION = "Plugin Information";
+
+  private final String linkHost;
+  private final String linkPath;
+  private final String imageHost;
+  private final String imagePath;
+  private final boolean removeConfluenceMacros;
+
+  /**
+   * @param linkHost part of URL including protocol and host used for <code>href</code>, no trailing slash
+   * @param linkPath path to parent folder used for <code>href</code>, including initial and trailing slash
+   * @param imageHost part of URL including protocol and host used for <code>src</code>, no trailing slash
+   * @param imagePath path to parent folder used for <code>src</code>, including initial and trailing slash
+   * @param removeConfluenceMacros whether to remove the "Plugin Information" table and tables of contents
+   */
+  public WikiContentCleaner(String linkHost, String linkPath, String imageHost, String imagePath, boolean removeConfluenceMacros) {
+    this.linkHost = linkHost;
+    this.linkPath = linkPath;
+    this.imageHost = imageHost;
+    this.imagePath = imagePath;
+    this.removeConfluenceMacros = removeConfluenceMacros;
+  }
+
+  /**
+   * <p>Clean <code>content</code> in place</p>
+   *
+   * @param content top level element to be traversed
+   */
+  public void clean(Element content) {
+    final Visitor visitor = new Visitor();
+    new NodeTraversor(visitor).traverse(content);
+    visitor.removals.forEach(Element::remove);
+  }
+
+  /**
+   * @param element element to be processed
+   * @param attributeName attribute name
+   * @param host part of URL including protocol and host, no trailing slash
+   * @param path path to parent folder, including initial and trailing slash
+   */
+  public static void replaceAttribute(Element element, String attributeName, String host, String path) {
+    final String attribute = element.attr(attributeName);
+    if (attribute.startsWith("/")) {
+      element.attr(attributeName, host + attribute);
+    } else if (!attribute.startsWith("http:") && !attribute.startsWith("https:")
+        && !attribute.startsWith("#")) {
+      element.attr(attributeName, host + path + attribute);
+    }
+  }
+
+  private class Visitor implements NodeVisitor {
+
+    private final List<Element> removals = new ArrayList<>();
+    private boolean pluginInformationFound = false;
+    private int headerDepth = 0;
+
+    @Override
+    public void head(Node node, int depth) {
+      if (!(node instanceof Element)) {
+        return;
+      }
+      final Element element = (Element) node;
+      if (removeConfluenceMacros) {
+        if (element.hasClass("toc")) {
+          removals.add(element);
+        }
+        // Whole text of the element since the words can be split across tags, e.g. <b>Plugin</b> Information. Only
+        // looked at inside headers, and the outermost element is seen first like the :contains selector it replaces
+        if (!pluginInformationFound && headerDepth > 0
+            && StringUtils.containsIgnoreCase(element.text(), PLUGIN_INFORMATION)) {
+          final Element table = getPluginInformationTable(element);
+          if (table != null) {
+            removals.add(table);
+            pluginInformationFound = true;
+          }
+        }
+        if (element.tagName().equals("th")) {
+          headerDepth++;
+        }
+      }
+      if (element.hasAttr("href")) {
+        replaceAttribute(element, "href", linkHost, linkPath);
+      }
+      if (element.hasAttr("src")) {
+        replaceAttribute(element, "src", imageHost, imagePath);
+      }
+    }
+
+    @Override
+    public void tail(Node node, int depth) {
+      if (removeConfluenceMacros && node instanceof Element && ((Element) node).tagName().equals("th")) {
+        headerDepth--;
+      }
+    }
+
+    /**
+     * @return closest table holding <code>element</code> when it's inside a header of a Confluence inline macro, null
+     * otherwise
+     */
+    private Element getPluginInformationTable(Element element) {
+      Element table = null;
+      boolean inHeader = false;
+      boolean inMacro = false;
+      for (Element parent = element; parent != null; parent = parent.parent()) {
+        if (table == null && parent.tagName().equals("table")) {
+          table = parent;
+        }
+        if (parent != element && parent.tagName().equals("th")) {
+          inHeader = true;
+        } else if (inHeader && parent.hasClass("conf-macro") && parent.hasClass("output-inline")) {
+          inMacro = true;
+        }
+        if (inMacro && table != null) {
+          return table;
+        }
+      }
+      return null;
+    }
+
+  }
+
+}
@@ -0,0 +1,138 @@
+package io.jenkins.plugins.services.impl;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.jenkins.plugins.commons.JsonObjectMapper;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * <p>Disk backed store of cleaned wiki content so it survives restarts</p>
+ *
+ * <p>Each url is kept in its own JSON file named after the SHA-1 of the url together with the ETag of the response it
+ * was extracted from, which allows revalidating it with a conditional request. When no directory is given the store
+ * is disabled and keeps nothing.</p>
+ */
+public class WikiContentStore {
+
+  private final Logger logger = LoggerFactory.getLogger(WikiContentStore.class);
+
+  private final Path directory;
+
+  /**
+   * @param directory where content is stored, null to disable the store
+   */
+  public WikiContentStore(String directory) {
+    this.directory = directory != null ? Paths.get(directory).toAbsolutePath() : null;
+    if (this.directory != null) {
+      try {
+        Files.createDirectories(this.directory);
+        logger.info(String.format("Storing wiki content in %s", this.directory));
+      } catch (IOException e) {
+        logger.error("Problem creating wiki content directory " + this.directory, e);
+        throw new RuntimeException(e);
+      }
+    }
+  }
+
+  /**
+   * @param url wiki url
+   * @return stored content, null if there is none or the store is disabled
+   */
+  public Entry get(String url) {
+    if (directory == null) {
+      return null;
+    }
+    final Path file = getFile(url);
+    if (!Files.exists(file)) {
+      return null;
+    }
+    try {
+      final Entry entry = JsonObjectMapper.getObjectMapper().readValue(file.toFile(), Entry.class);
+      return url.equals(entry.getUrl()) ? entry : null;
+    } catch (IOException e) {
+      logger.warn("Problem reading stored wiki content for " + url, e);
+      return null;
+    }
+  }
+
+  public void put(Entry entry) {
+    if (directory == null) {
+      return;
+    }
+    final Path file = getFile(entry.getUrl());
+    Path temp = null;
+    try {
+      // Write next to the target and move it in place so readers never see a partial file
+      temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+      JsonObjectMapper.getObjectMapper().writeValue(temp.toFile(), entry);
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      logger.warn("Problem storing wiki content for " + entry.getUrl(), e);
+    } finally {
+      // Only still there if it couldn't be moved in place
+      if (temp != null) {
+        FileUtils.deleteQuietly(temp.toFile());
+      }
+    }
+  }
+
+  private Path getFile(String url) {
+    return directory.resolve(DigestUtils.sha1Hex(url) + ".json");
+  }
+
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  public static class Entry {
+
+    @JsonProperty("url")
+    private String url;
+
+    @JsonProperty("etag")
+    private String etag;
+
+    @JsonProperty("timestamp")
+    private long timestamp;
+
+    @JsonProperty("content")
+    private String content;
+
+    public Entry() {
+    }
+
+    public Entry(String url, String etag, long timestamp, String content) {
+      this.url = url;
+      this.etag = etag;
+      this.timestamp = timestamp;
+      this.content = content;
+    }
+
+    public String getUrl() {
+      return url;
+    }
+
+    public String getEtag() {
+      return etag;
+    }
+
+    /**
+     * @return epoch milliseconds when the content was last fetched or revalidated
+     */
+    public long getTimestamp() {
+      return timestamp;
+    }
+
+    public String getContent() {
+      return content;
+    }
+
+  }
+
+}
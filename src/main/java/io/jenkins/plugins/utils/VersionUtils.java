@@ -4,6 +4,8 @@ import org.apache.commons.codec.digest.DigestUtils;
 import org.elasticsearch.Version;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
 
 public class VersionUtils {
 
@@ -15,6 +17,22 @@ public class VersionUtils {
     }
   }
 
+  /**
+   * @return commit the application was built from, null if <code>git.properties</code> is missing
+   */
+  public static String getCommitId() {
+    try (InputStream inputStream = VersionUtils.class.getClassLoader().getResourceAsStream("git.properties")) {
+      if (inputStream == null) {
+        return null;
+      }
+      final Properties properties = new Properties();
+      properties.load(inputStream);
+      return properties.getProperty("git.commit.id");
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   public static String getElasticsearchVersion() {
     return DigestUtils.sha256Hex(Version.CURRENT.toString());
   }
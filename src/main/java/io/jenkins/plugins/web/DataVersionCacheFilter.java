@@ -0,0 +1,96 @@
+package io.jenkins.plugins.web;
+
+import io.jenkins.plugins.datastore.PluginSnapshot;
+import io.jenkins.plugins.datastore.PluginSnapshotHolder;
+import io.jenkins.plugins.utils.VersionUtils;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import javax.inject.Inject;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.time.ZoneOffset;
+
+/**
+ * <p>Filter that adds a strong ETag and <code>Cache-Control</code> to responses of <code>DataVersioned</code>
+ * endpoints</p>
+ *
+ * <p>The ETag is derived from the data version being served, the request URI, including the query string, and the
+ * build of the application, mapping, commit and <code>PRESERIALIZED_RESPONSES</code>, since a new build can serialize
+ * the same data differently. A request whose <code>If-None-Match</code> matches is answered with
+ * <code>304 Not Modified</code> before the endpoint, and so the datastore, is called. Gzipped responses get their own
+ * ETag and every response varies on <code>Accept-Encoding</code>.</p>
+ *
+ * <p>The data version is read from the published <code>PluginSnapshot</code> rather than asking the datastore for the
+ * creation time of its index on every request. Nothing is added before the first data version is published.</p>
+ *
+ * @see DataVersioned
+ */
+@Provider
+@DataVersioned
+public class DataVersionCacheFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+  static final String ETAG_PROPERTY = DataVersionCacheFilter.class.getName() + ".etag";
+
+  private static final String BUILD_VERSION = String.format("%s %s %b",
+    VersionUtils.getMappingVersion(), VersionUtils.getCommitId(), RawPluginMessageBodyWriter.PRESERIALIZED_RESPONSES);
+
+  @Inject
+  private PluginSnapshotHolder snapshotHolder;
+
+  @Context
+  private ResourceInfo resourceInfo;
+
+  @Override
+  public void filter(ContainerRequestContext requestContext) throws IOException {
+    final PluginSnapshot snapshot = snapshotHolder.get();
+    if (snapshot == null || !HttpMethod.GET.equals(requestContext.getMethod())) {
+      return;
+    }
+    final String tag = DigestUtils.sha1Hex(String.format("%s %d %s", BUILD_VERSION,
+      snapshot.getCreatedAt().toEpochSecond(ZoneOffset.UTC), requestContext.getUriInfo().getRequestUri()));
+    final EntityTag etag = new EntityTag(
+      GzipWriterInterceptor.acceptsGzip(requestContext.getHeaderString(HttpHeaders.ACCEPT_ENCODING)) ? tag + "-gzip" : tag);
+    requestContext.setProperty(ETAG_PROPERTY, etag);
+    final Response.ResponseBuilder notModified = requestContext.getRequest().evaluatePreconditions(etag);
+    if (notModified != null) {
+      requestContext.abortWith(notModified
+        .cacheControl(getCacheControl())
+        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+        .build());
+    }
+  }
+
+  @Override
+  public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) throws IOException {
+    final EntityTag etag = (EntityTag) requestContext.getProperty(ETAG_PROPERTY);
+    if (etag == null || responseContext.getStatus() != Response.Status.OK.getStatusCode()) {
+      return;
+    }
+    responseContext.getHeaders().putSingle("ETag", etag);
+    responseContext.getHeaders().putSingle("Cache-Control", getCacheControl());
+    VaryHeader.add(responseContext.getHeaders(), HttpHeaders.ACCEPT_ENCODING);
+  }
+
+  private CacheControl getCacheControl() {
+    DataVersioned dataVersioned = resourceInfo.getResourceMethod().getAnnotation(DataVersioned.class);
+    if (dataVersioned == null) {
+      dataVersioned = resourceInfo.getResourceClass().getAnnotation(DataVersioned.class);
+    }
+    final CacheControl cacheControl = new CacheControl();
+    cacheControl.setMaxAge(dataVersioned.maxAge());
+    cacheControl.getCacheExtension().put("stale-while-revalidate", String.valueOf(dataVersioned.staleWhileRevalidate()));
+    return cacheControl;
+  }
+
+}
@@ -0,0 +1,39 @@
+package io.jenkins.plugins.web;
+
+import javax.ws.rs.NameBinding;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>Marks endpoints whose responses only change with the data version</p>
+ *
+ * <p>Responses get validators and caching headers from <code>DataVersionCacheFilter</code></p>
+ *
+ * @see DataVersionCacheFilter
+ */
+@NameBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface DataVersioned {
+
+  /**
+   * @return seconds a response may be served from a cache without revalidating
+   */
+  int maxAge() default 300;
+
+  /**
+   * @return seconds past <code>maxAge</code> a cache may keep serving a response while revalidating it in the
+   * background
+   */
+  int staleWhileRevalidate() default 1800;
+
+  /**
+   * @return whether the gzipped body is kept for the data version, only worth it for responses that are requested
+   * over and over with the same URI
+   * @see GzipWriterInterceptor
+   */
+  boolean cacheCompressed() default false;
+
+}
@@ -0,0 +1,147 @@
+package io.jenkins.plugins.web;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.jenkins.plugins.datastore.PluginSnapshotHolder;
+
+import javax.annotation.Priority;
+import javax.inject.Inject;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * <p>Interceptor that gzips response bodies for clients accepting it</p>
+ *
+ * <p>Every response it writes carries <code>Vary: Accept-Encoding</code>, compressed or not</p>
+ *
+ * <p>Bodies of <code>DataVersioned</code> endpoints marked <code>cacheCompressed</code> are the same for every request
+ * of a data version so they're compressed once, kept by ETag and written out as is afterwards without being serialized
+ * again. The cache is emptied whenever a new data version is published and holds at most
+ * <code>COMPRESSED_CACHE_SIZE</code> (default 200) bodies.</p>
+ *
+ * <p>Set <code>COMPRESS_RESPONSES</code> to <code>false</code> to disable compression</p>
+ *
+ * @see DataVersioned
+ */
+@Provider
+@Priority(Priorities.ENTITY_CODER)
+public class GzipWriterInterceptor implements WriterInterceptor {
+
+  static final boolean COMPRESS_RESPONSES = Boolean.valueOf(System.getenv().getOrDefault("COMPRESS_RESPONSES", "true"));
+
+  private static final int COMPRESSED_CACHE_SIZE = Integer.valueOf(System.getenv().getOrDefault("COMPRESSED_CACHE_SIZE", "200"));
+  private static final String GZIP = "gzip";
+
+  private final Cache<String, byte[]> compressedBodies = CacheBuilder.newBuilder()
+    .maximumSize(COMPRESSED_CACHE_SIZE)
+    .build();
+
+  @Context
+  private HttpHeaders httpHeaders;
+
+  @Context
+  private ResourceInfo resourceInfo;
+
+  @Inject
+  public GzipWriterInterceptor(PluginSnapshotHolder snapshotHolder) {
+    snapshotHolder.addListener(snapshot -> compressedBodies.invalidateAll());
+  }
+
+  /**
+   * <p>An explicit <code>gzip</code> coding takes precedence over <code>*</code>. A quality value that can't be parsed
+   * counts as <code>1</code> rather than failing the request.</p>
+   *
+   * @param acceptEncoding value of the <code>Accept-Encoding</code> request header, may be null
+   * @return whether responses to the request are gzipped
+   */
+  static boolean acceptsGzip(String acceptEncoding) {
+    if (!COMPRESS_RESPONSES || acceptEncoding == null) {
+      return false;
+    }
+    Double gzip = null;
+    Double any = null;
+    for (String coding : acceptEncoding.split(",")) {
+      final String[] parts = coding.trim().split(";");
+      final String name = parts[0].trim();
+      if (name.equalsIgnoreCase(GZIP)) {
+        gzip = Math.max(gzip != null ? gzip : 0, quality(parts));
+      } else if (name.equals("*")) {
+        any = Math.max(any != null ? any : 0, quality(parts));
+      }
+    }
+    final double quality = gzip != null ? gzip : any != null ? any : 0;
+    return quality > 0;
+  }
+
+  /**
+   * @return <code>q</code> parameter of a coding, <code>1</code> if it's missing or malformed
+   */
+  private static double quality(String[] parts) {
+    for (int i = 1; i < parts.length; i++) {
+      final String parameter = parts[i].trim().replace(" ", "");
+      if (parameter.startsWith("q=")) {
+        try {
+          return Double.parseDouble(parameter.substring(2));
+        } catch (NumberFormatException e) {
+          return 1;
+        }
+      }
+    }
+    return 1;
+  }
+
+  @Override
+  public void aroundWriteTo(WriterInterceptorContext context) throws IOException, WebApplicationException {
+    if (!COMPRESS_RESPONSES) {
+      context.proceed();
+      return;
+    }
+    // The encoding is negotiated for every response, shared caches must keep the variants apart
+    VaryHeader.add(context.getHeaders(), HttpHeaders.ACCEPT_ENCODING);
+    if (!acceptsGzip(httpHeaders.getHeaderString(HttpHeaders.ACCEPT_ENCODING))) {
+      context.proceed();
+      return;
+    }
+    context.getHeaders().putSingle(HttpHeaders.CONTENT_ENCODING, GZIP);
+    final OutputStream outputStream = context.getOutputStream();
+    final EntityTag etag = (EntityTag) context.getProperty(DataVersionCacheFilter.ETAG_PROPERTY);
+    if (etag == null || !isCacheCompressed()) {
+      final GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream);
+      context.setOutputStream(gzipOutputStream);
+      context.proceed();
+      gzipOutputStream.finish();
+      return;
+    }
+    byte[] body = compressedBodies.getIfPresent(etag.getValue());
+    if (body == null) {
+      final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(bytes)) {
+        context.setOutputStream(gzipOutputStream);
+        context.proceed();
+      }
+      body = bytes.toByteArray();
+      compressedBodies.put(etag.getValue(), body);
+    }
+    outputStream.write(body);
+  }
+
+  private boolean isCacheCompressed() {
+    DataVersioned dataVersioned = resourceInfo.getResourceMethod().getAnnotation(DataVersioned.class);
+    if (dataVersioned == null) {
+      dataVersioned = resourceInfo.getResourceClass().getAnnotation(DataVersioned.class);
+    }
+    return dataVersioned != null && dataVersioned.cacheCompressed();
+  }
+
+}
@@ -0,0 +1,78 @@
+package io.jenkins.plugins.web;
+
+import io.jenkins.plugins.commons.JsonObjectMapper;
+import io.jenkins.plugins.models.RawPlugin;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <p>Writes <code>RawPlugin</code> as its stored JSON with the wiki appended as the last property, <code>null</code>
+ * when there's none like Jackson writes a <code>Plugin</code></p>
+ *
+ * <p>Endpoints only return raw plugins unless <code>PRESERIALIZED_RESPONSES</code> is set to <code>false</code>, in
+ * which case plugins are read into <code>Plugin</code> and serialized by Jackson for every request</p>
+ */
+@Provider
+@Produces(MediaType.APPLICATION_JSON)
+public class RawPluginMessageBodyWriter implements MessageBodyWriter<RawPlugin> {
+
+  public static final boolean PRESERIALIZED_RESPONSES =
+    Boolean.valueOf(System.getenv().getOrDefault("PRESERIALIZED_RESPONSES", "true"));
+
+  private static final byte[] WIKI_PROPERTY = "\"wiki\":".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] NULL = "null".getBytes(StandardCharsets.UTF_8);
+
+  @Override
+  public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+    return RawPlugin.class.isAssignableFrom(type);
+  }
+
+  @Override
+  public long getSize(RawPlugin rawPlugin, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+    return -1;
+  }
+
+  @Override
+  public void writeTo(RawPlugin rawPlugin, Class<?> type, Type genericType, Annotation[] annotations,
+                      MediaType mediaType, MultivaluedMap<String, Object> httpHeaders,
+                      OutputStream entityStream) throws IOException, WebApplicationException {
+    final byte[] json = rawPlugin.getJson();
+    // Splice the wiki in before the closing brace, whatever whitespace surrounds it
+    final int end = lastNonWhitespace(json, json.length);
+    final int last = end >= 0 ? lastNonWhitespace(json, end) : -1;
+    if (last < 0 || json[end] != '}') {
+      throw new IOException("Plugin JSON isn't an object");
+    }
+    entityStream.write(json, 0, end);
+    if (json[last] != '{') {
+      entityStream.write(',');
+    }
+    entityStream.write(WIKI_PROPERTY);
+    entityStream.write(rawPlugin.getWiki() != null
+      ? JsonObjectMapper.getObjectMapper().writeValueAsBytes(rawPlugin.getWiki())
+      : NULL);
+    entityStream.write('}');
+  }
+
+  /**
+   * @return index of the last byte before <code>end</code> that isn't JSON whitespace, -1 if there's none
+   */
+  private static int lastNonWhitespace(byte[] json, int end) {
+    int i = end - 1;
+    while (i >= 0 && (json[i] == ' ' || json[i] == '\n' || json[i] == '\r' || json[i] == '\t')) {
+      i--;
+    }
+    return i;
+  }
+
+}
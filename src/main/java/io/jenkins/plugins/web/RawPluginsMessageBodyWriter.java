@@ -0,0 +1,55 @@
+package io.jenkins.plugins.web;
+
+import io.jenkins.plugins.models.RawPlugins;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * <p>Writes <code>RawPlugins</code> in the same shape as <code>Plugins</code> by splicing the stored JSON of every
+ * plugin into the envelope</p>
+ */
+@Provider
+@Produces(MediaType.APPLICATION_JSON)
+public class RawPluginsMessageBodyWriter implements MessageBodyWriter<RawPlugins> {
+
+  private static final byte[] PLUGINS_START = "{\"plugins\":[".getBytes(StandardCharsets.UTF_8);
+
+  @Override
+  public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+    return RawPlugins.class.isAssignableFrom(type);
+  }
+
+  @Override
+  public long getSize(RawPlugins rawPlugins, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+    return -1;
+  }
+
+  @Override
+  public void writeTo(RawPlugins rawPlugins, Class<?> type, Type genericType, Annotation[] annotations,
+                      MediaType mediaType, MultivaluedMap<String, Object> httpHeaders,
+                      OutputStream entityStream) throws IOException, WebApplicationException {
+    entityStream.write(PLUGINS_START);
+    final List<byte[]> plugins = rawPlugins.getPlugins();
+    for (int i = 0; i < plugins.size(); i++) {
+      if (i > 0) {
+        entityStream.write(',');
+      }
+      entityStream.write(plugins.get(i));
+    }
+    final String end = String.format("],\"page\":%d,\"pages\":%d,\"total\":%d,\"limit\":%d}",
+      rawPlugins.getPage(), rawPlugins.getPages(), rawPlugins.getTotal(), rawPlugins.getLimit());
+    entityStream.write(end.getBytes(StandardCharsets.UTF_8));
+  }
+
+}
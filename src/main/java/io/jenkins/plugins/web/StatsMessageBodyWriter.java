@@ -0,0 +1,42 @@
+package io.jenkins.plugins.web;
+
+import io.jenkins.plugins.commons.StatsCodec;
+import io.jenkins.plugins.models.Stats;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * <p>Writes <code>Stats</code> in the binary format of <code>StatsCodec</code> for
+ * <code>/plugin/{name}/stats.bin</code></p>
+ */
+@Provider
+@Produces(StatsCodec.MEDIA_TYPE)
+public class StatsMessageBodyWriter implements MessageBodyWriter<Stats> {
+
+  @Override
+  public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+    return Stats.class.isAssignableFrom(type);
+  }
+
+  @Override
+  public long getSize(Stats stats, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+    return -1;
+  }
+
+  @Override
+  public void writeTo(Stats stats, Class<?> type, Type genericType, Annotation[] annotations,
+                      MediaType mediaType, MultivaluedMap<String, Object> httpHeaders,
+                      OutputStream entityStream) throws IOException, WebApplicationException {
+    entityStream.write(StatsCodec.encode(stats));
+  }
+
+}
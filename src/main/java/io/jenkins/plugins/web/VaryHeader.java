@@ -0,0 +1,31 @@
+package io.jenkins.plugins.web;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * <p>Adds request headers to the <code>Vary</code> response header, keeping the ones already there</p>
+ */
+final class VaryHeader {
+
+  private VaryHeader() {
+  }
+
+  static void add(MultivaluedMap<String, Object> headers, String... requestHeaders) {
+    final Set<String> vary = new LinkedHashSet<>();
+    final Object existing = headers.getFirst(HttpHeaders.VARY);
+    if (existing != null) {
+      for (String header : existing.toString().split(",")) {
+        if (!header.trim().isEmpty()) {
+          vary.add(header.trim());
+        }
+      }
+    }
+    vary.addAll(Arrays.asList(requestHeaders));
+    headers.putSingle(HttpHeaders.VARY, String.join(", ", vary));
+  }
+
+}
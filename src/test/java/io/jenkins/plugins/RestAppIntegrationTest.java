@@ -1,6 +1,8 @@
 package io.jenkins.plugins;
 
+import io.jenkins.plugins.commons.StatsCodec;
 import io.jenkins.plugins.models.*;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.glassfish.jersey.test.JerseyTest;
 import org.glassfish.jersey.test.jetty.JettyTestContainerFactory;
@@ -10,6 +12,13 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import javax.ws.rs.core.Application;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
 
 public class RestAppIntegrationTest extends JerseyTest {
 
@@ -253,4 +262,104 @@ public class RestAppIntegrationTest extends JerseyTest {
     Assert.assertFalse("Info.commit empty", info.getCommit().isEmpty());
   }
 
+  @Test
+  public void testGetLabelsGzipped() throws IOException {
+    final Response response = target("/labels").request().header(HttpHeaders.ACCEPT_ENCODING, "gzip").get();
+    Assert.assertEquals(200, response.getStatus());
+    Assert.assertEquals("gzip", response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+    Assert.assertTrue("Vary is missing Accept-Encoding", response.getHeaderString(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+    try (InputStream inputStream = new GZIPInputStream(response.readEntity(InputStream.class))) {
+      final String body = IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+      Assert.assertTrue("Body isn't the labels", body.contains("\"labels\""));
+    }
+    final Response again = target("/labels").request().header(HttpHeaders.ACCEPT_ENCODING, "*;q=0, gzip").get();
+    Assert.assertEquals("gzip", again.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+    again.close();
+  }
+
+  @Test
+  public void testGetLabelsIdentity() {
+    final Response response = target("/labels").request().header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0").get();
+    Assert.assertEquals(200, response.getStatus());
+    Assert.assertNull("Response is encoded", response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+    Assert.assertTrue("Vary is missing Accept-Encoding", response.getHeaderString(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+    Assert.assertFalse("Labels empty", response.readEntity(Labels.class).getLabels().isEmpty());
+  }
+
+  @Test
+  public void testGetInstalledNotModified() {
+    final Response response = target("/plugins/installed").request().get();
+    Assert.assertEquals(200, response.getStatus());
+    final EntityTag etag = response.getEntityTag();
+    Assert.assertNotNull("ETag missing", etag);
+    Assert.assertNotNull("Cache-Control missing", response.getHeaderString(HttpHeaders.CACHE_CONTROL));
+    response.close();
+    final Response notModified = target("/plugins/installed").request().header(HttpHeaders.IF_NONE_MATCH, etag.toString()).get();
+    Assert.assertEquals(304, notModified.getStatus());
+    Assert.assertEquals(etag, notModified.getEntityTag());
+    Assert.assertFalse("304 has a body", notModified.hasEntity());
+    notModified.close();
+    final Response otherEncoding = target("/plugins/installed").request()
+      .header(HttpHeaders.IF_NONE_MATCH, etag.toString())
+      .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+      .get();
+    Assert.assertEquals("ETag of the identity variant matched the gzip one", 200, otherEncoding.getStatus());
+    otherEncoding.close();
+  }
+
+  @Test
+  public void testGetPluginNotDataVersioned() {
+    final Response response = target("/plugin/git").request().get();
+    Assert.assertEquals(200, response.getStatus());
+    Assert.assertNull("Plugin has an ETag", response.getEntityTag());
+    response.close();
+  }
+
+  @Test
+  public void testGetBinaryStats() {
+    final Response response = target("/plugin/git/stats.bin").request().get();
+    Assert.assertEquals(200, response.getStatus());
+    Assert.assertEquals(StatsCodec.MEDIA_TYPE, response.getMediaType().toString());
+    final Stats stats = StatsCodec.decode(response.readEntity(byte[].class));
+    final Response jsonResponse = target("/plugin/git/stats").request().get();
+    Assert.assertNotEquals("Representations share an ETag", response.getEntityTag(), jsonResponse.getEntityTag());
+    final Stats json = jsonResponse.readEntity(Stats.class);
+    Assert.assertEquals("currentInstalls doesn't match", json.getCurrentInstalls(), stats.getCurrentInstalls());
+    Assert.assertEquals("installations size doesn't match", json.getInstallations().size(), stats.getInstallations().size());
+  }
+
+  @Test
+  public void testGetLabelsNotModified() {
+    final Response response = target("/labels").request().get();
+    Assert.assertEquals(200, response.getStatus());
+    final EntityTag etag = response.getEntityTag();
+    Assert.assertNotNull("ETag missing", etag);
+    Assert.assertTrue("Cache-Control missing max-age", response.getHeaderString(HttpHeaders.CACHE_CONTROL).contains("max-age=3600"));
+    response.close();
+    final Response notModified = target("/labels").request().header(HttpHeaders.IF_NONE_MATCH, etag.toString()).get();
+    Assert.assertEquals(304, notModified.getStatus());
+    Assert.assertTrue("Cache-Control missing max-age", notModified.getHeaderString(HttpHeaders.CACHE_CONTROL).contains("max-age=3600"));
+    notModified.close();
+    // An ETag of another data version or build doesn't match
+    final Response stale = target("/labels").request().header(HttpHeaders.IF_NONE_MATCH, "\"0000\"").get();
+    Assert.assertEquals(200, stale.getStatus());
+    Assert.assertEquals(etag, stale.getEntityTag());
+    stale.close();
+  }
+
+  @Test
+  public void testGetStats() {
+    final Stats stats = target("/plugin/git/stats").queryParam("points", 3).request().get(Stats.class);
+    Assert.assertNotNull("Stats null", stats);
+    Assert.assertEquals("Installations not downsampled", 3, stats.getInstallations().size());
+    final Stats to = target("/plugin/git/stats").queryParam("to", stats.getInstallations().get(0).getTimestamp()).request().get(Stats.class);
+    Assert.assertEquals("Installations not limited by to", 1, to.getInstallations().size());
+  }
+
+  @Test
+  public void testGetStatsUnknownPlugin() {
+    Assert.assertEquals(404, target("/plugin/does-not-exist/stats").request().get().getStatus());
+    Assert.assertEquals(404, target("/plugin/does-not-exist/stats.bin").request().get().getStatus());
+  }
+
 }
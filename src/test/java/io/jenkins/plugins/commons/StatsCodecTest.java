@@ -0,0 +1,90 @@
+package io.jenkins.plugins.commons;
+
+import io.jenkins.plugins.models.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class StatsCodecTest {
+
+  @Test
+  public void testRoundTrip() {
+    final List<Installation> installations = new ArrayList<>();
+    final List<InstallationPercentage> installationsPercentage = new ArrayList<>();
+    long timestamp = 1230768000000L;
+    for (int i = 0; i < 120; i++) {
+      installations.add(new Installation(timestamp, 1000 + i * 37 - (i % 7) * 50));
+      installationsPercentage.add(new InstallationPercentage(timestamp, i * 0.123));
+      timestamp += (i % 2 == 0 ? 31L : 30L) * 24 * 60 * 60 * 1000;
+    }
+    final Stats stats = new Stats(
+      installations,
+      installationsPercentage,
+      Arrays.asList(new InstallationVersion("1.0", 5), new InstallationVersion("2.0-beta", 70000)),
+      Collections.emptyList(),
+      123456,
+      -42
+    );
+    final Stats decoded = StatsCodec.decode(StatsCodec.encode(stats));
+    Assert.assertEquals("currentInstalls doesn't match", 123456, decoded.getCurrentInstalls());
+    Assert.assertEquals("trend doesn't match", -42, decoded.getTrend());
+    Assert.assertEquals("installations size doesn't match", installations.size(), decoded.getInstallations().size());
+    for (int i = 0; i < installations.size(); i++) {
+      Assert.assertEquals("installations timestamp doesn't match", installations.get(i).getTimestamp(), decoded.getInstallations().get(i).getTimestamp());
+      Assert.assertEquals("installations total doesn't match", installations.get(i).getTotal(), decoded.getInstallations().get(i).getTotal());
+      Assert.assertEquals("installationsPercentage timestamp doesn't match", installationsPercentage.get(i).getTimestamp(), decoded.getInstallationsPercentage().get(i).getTimestamp());
+      Assert.assertEquals("installationsPercentage percentage doesn't match", installationsPercentage.get(i).getPercentage(), decoded.getInstallationsPercentage().get(i).getPercentage(), 0);
+    }
+    Assert.assertEquals("installationsPerVersion version doesn't match", "2.0-beta", decoded.getInstallationsPerVersion().get(1).getVersion());
+    Assert.assertEquals("installationsPerVersion total doesn't match", 70000, decoded.getInstallationsPerVersion().get(1).getTotal());
+    Assert.assertTrue("installationsPercentagePerVersion not empty", decoded.getInstallationsPercentagePerVersion().isEmpty());
+  }
+
+  @Test
+  public void testMissingSeries() {
+    final Stats stats = new Stats();
+    stats.setCurrentInstalls(10);
+    final Stats decoded = StatsCodec.decode(StatsCodec.encode(stats));
+    Assert.assertEquals("currentInstalls doesn't match", 10, decoded.getCurrentInstalls());
+    Assert.assertNull("installations not null", decoded.getInstallations());
+    Assert.assertNull("installationsPerVersion not null", decoded.getInstallationsPerVersion());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTruncated() {
+    final byte[] encoded = StatsCodec.encode(new Stats(
+      Collections.singletonList(new Installation(1230768000000L, 5)), null, null, null, 5, 0));
+    StatsCodec.decode(Arrays.copyOf(encoded, encoded.length - 1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testHugeSize() {
+    // version, currentInstalls, trend then a list size of Long.MAX_VALUE
+    StatsCodec.decode(new byte[]{1, 0, 0, -1, -1, -1, -1, -1, -1, -1, -1, 127});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOverlongVarint() {
+    StatsCodec.decode(new byte[]{1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 1});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testStringPastEnd() {
+    final byte[] encoded = StatsCodec.encode(new Stats(
+      null, null, Collections.singletonList(new InstallationVersion("1.0", 5)), null, 5, 0));
+    // version, currentInstalls, trend, two missing series, size then the version length
+    encoded[6] = 100;
+    StatsCodec.decode(encoded);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullVersion() {
+    StatsCodec.encode(new Stats(
+      null, null, Collections.singletonList(new InstallationVersion(null, 5)), null, 5, 0));
+  }
+
+}
@@ -0,0 +1,85 @@
+package io.jenkins.plugins.datastore;
+
+import io.jenkins.plugins.models.Maintainer;
+import io.jenkins.plugins.models.Plugin;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.*;
+
+public class FacetIndexTest {
+
+  private static FacetIndex facets;
+
+  @BeforeClass
+  public static void setUp() {
+    facets = new FacetIndex(Arrays.asList(
+      plugin("git", "2.7.3", Collections.singleton("scm"), Collections.singleton("scm"), new Maintainer("kohsuke", "Kohsuke Kawaguchi", null)),
+      plugin("subversion", "1.642", Collections.singleton("scm"), Collections.emptySet(), new Maintainer("jglick", "Jesse Glick", null)),
+      plugin("ant", "1.642", Collections.singleton("builder"), Collections.singleton("ant"), new Maintainer("kohsuke", "Kohsuke Kawaguchi", null)),
+      plugin("maven", "2.7.3", Collections.emptySet(), Collections.singleton("maven"), new Maintainer(null, "Jane Doe", null))
+    ));
+  }
+
+  private static Plugin plugin(String name, String requiredCore, Set<String> categories, Set<String> labels,
+                               Maintainer maintainer) {
+    final Plugin plugin = new Plugin();
+    plugin.setName(name);
+    plugin.setRequiredCore(requiredCore);
+    plugin.setCategories(categories);
+    plugin.setLabels(labels);
+    plugin.setMaintainers(Collections.singletonList(maintainer));
+    return plugin;
+  }
+
+  private static List<String> filter(Set<String> categories, Set<String> labels, Set<String> maintainers, String core) {
+    // Plugin ids follow the names in order
+    final List<String> names = Arrays.asList("ant", "git", "maven", "subversion");
+    final BitSet matches = facets.matching(categories, labels, maintainers, core);
+    final List<String> result = new ArrayList<>();
+    for (int id = matches.nextSetBit(0); id >= 0; id = matches.nextSetBit(id + 1)) {
+      result.add(names.get(id));
+    }
+    return result;
+  }
+
+  private static Set<String> set(String... values) {
+    return new HashSet<>(Arrays.asList(values));
+  }
+
+  @Test
+  public void testNoFilters() {
+    Assert.assertEquals(Arrays.asList("ant", "git", "maven", "subversion"), filter(set(), set(), set(), null));
+  }
+
+  @Test
+  public void testCategoriesOrLabels() {
+    Assert.assertEquals(Arrays.asList("git", "subversion"), filter(set("scm"), set(), set(), null));
+    Assert.assertEquals(Arrays.asList("ant", "git", "maven", "subversion"), filter(set("scm"), set("ant", "maven"), set(), null));
+    Assert.assertEquals(Collections.emptyList(), filter(set("unknown"), set(), set(), null));
+  }
+
+  @Test
+  public void testMaintainers() {
+    Assert.assertEquals(Arrays.asList("ant", "git"), filter(set(), set(), set("kohsuke"), null));
+    // Matched by name when there's no id
+    Assert.assertEquals(Collections.singletonList("maven"), filter(set(), set(), set("jane"), null));
+    Assert.assertEquals(Arrays.asList("ant", "git", "subversion"), filter(set(), set(), set("kohsuke", "Jesse Glick"), null));
+  }
+
+  @Test
+  public void testFiltersCombined() {
+    Assert.assertEquals(Collections.singletonList("git"), filter(set("scm"), set(), set(), "2.7.3"));
+    Assert.assertEquals(Collections.singletonList("ant"), filter(set(), set("ant", "scm"), set("kohsuke"), "1.642"));
+    Assert.assertEquals(Collections.emptyList(), filter(set(), set("maven"), set("jglick"), null));
+  }
+
+  @Test
+  public void testFacetLists() {
+    Assert.assertEquals(Arrays.asList("jglick", "kohsuke"), facets.getMaintainers());
+    Assert.assertEquals(Arrays.asList("ant", "maven", "scm"), facets.getLabels());
+    Assert.assertEquals(Arrays.asList("1.642", "2.7.3"), facets.getRequiredCores());
+  }
+
+}
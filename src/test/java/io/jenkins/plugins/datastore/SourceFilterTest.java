@@ -0,0 +1,64 @@
+package io.jenkins.plugins.datastore;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.jenkins.plugins.commons.JsonObjectMapper;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+public class SourceFilterTest {
+
+  private static final String SOURCE = "{" +
+    "\"name\":\"git\"," +
+    "\"labels\":[\"scm\",\"git\"]," +
+    "\"maintainers\":[" +
+      "{\"id\":\"kohsuke\",\"name\":\"Kohsuke Kawaguchi\",\"email\":\"kk@kohsuke.org\"}," +
+      "{\"id\":\"jglick\",\"name\":\"Jesse Glick\",\"email\":null}" +
+    "]," +
+    "\"stats\":{\"currentInstalls\":1000,\"trend\":10}" +
+  "}";
+
+  // Expected documents are what Elasticsearch 2.x _source filtering returns for the same fields
+
+  @Test
+  public void testNoFields() throws IOException {
+    final byte[] source = SOURCE.getBytes(StandardCharsets.UTF_8);
+    Assert.assertSame(source, SourceFilter.filter(source, Collections.emptySet()));
+  }
+
+  @Test
+  public void testNestedObject() throws IOException {
+    assertFiltered("{\"stats\":{\"currentInstalls\":1000}}", "stats.currentInstalls");
+    assertFiltered("{\"stats\":{\"currentInstalls\":1000,\"trend\":10}}", "stats", "stats.currentInstalls");
+  }
+
+  @Test
+  public void testThroughArray() throws IOException {
+    assertFiltered("{\"maintainers\":[{\"id\":\"kohsuke\"},{\"id\":\"jglick\"}]}", "maintainers.id");
+    assertFiltered("{\"maintainers\":[{\"id\":\"kohsuke\",\"email\":\"kk@kohsuke.org\"},{\"id\":\"jglick\",\"email\":null}]}",
+      "maintainers.id", "maintainers.email");
+    assertFiltered("{\"maintainers\":[{\"id\":\"kohsuke\"},{\"id\":\"jglick\"}],\"stats\":{\"currentInstalls\":1000}}",
+      "maintainers.id", "stats.currentInstalls");
+  }
+
+  @Test
+  public void testMissing() throws IOException {
+    assertFiltered("{}", "unknown");
+    assertFiltered("{}", "maintainers.unknown");
+    assertFiltered("{}", "name.unknown");
+    // Values of an array that aren't objects are kept whatever the rest of the path
+    assertFiltered("{\"labels\":[\"scm\",\"git\"]}", "labels.unknown");
+  }
+
+  private void assertFiltered(String expected, String... fields) throws IOException {
+    final byte[] filtered = SourceFilter.filter(SOURCE.getBytes(StandardCharsets.UTF_8), new HashSet<>(Arrays.asList(fields)));
+    final JsonNode actual = JsonObjectMapper.getObjectMapper().readTree(filtered);
+    Assert.assertEquals(JsonObjectMapper.getObjectMapper().readTree(expected), actual);
+  }
+
+}
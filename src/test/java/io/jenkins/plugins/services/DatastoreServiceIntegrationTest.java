@@ -1,5 +1,8 @@
 package io.jenkins.plugins.services;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import io.jenkins.plugins.commons.JsonObjectMapper;
+import io.jenkins.plugins.datastore.DatastoreType;
 import io.jenkins.plugins.models.*;
 import org.apache.commons.lang3.StringUtils;
 import org.glassfish.hk2.api.ServiceLocator;
@@ -7,41 +10,75 @@ import org.glassfish.hk2.utilities.ServiceLocatorUtilities;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
 import org.junit.AfterClass;
 import org.junit.Assert;
-import org.junit.BeforeClass;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
 import org.mockito.Mockito;
 
 import javax.inject.Singleton;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
 
+@RunWith(Parameterized.class)
 public class DatastoreServiceIntegrationTest {
 
+  private static DatastoreType currentType;
   private static ServiceLocator locator;
-  private static DatastoreService datastoreService;
+  private static DatastoreService currentService;
 
   private static ScheduledExecutorService mockScheduledExecutorService;
 
-  // BeforeClass because there's no reason to start/stop Elasticsearch for every test when
-  // all our operations are read-only
-  @BeforeClass
-  public static void setUp() throws Exception {
+  // Filtered sources Elasticsearch returned, it runs first so the other datastores are compared with it
+  private static List<JsonNode> elasticsearchFilteredSources;
+
+  private final DatastoreService datastoreService;
+
+  @Parameterized.Parameters(name = "{0}")
+  public static Collection<Object[]> datastoreTypes() {
+    return Arrays.stream(DatastoreType.values()).map(type -> new Object[]{type}).collect(Collectors.toList());
+  }
+
+  public DatastoreServiceIntegrationTest(DatastoreType datastoreType) throws Exception {
+    datastoreService = getDatastoreService(datastoreType);
+  }
+
+  // Parameters run one after the other so a datastore is populated once and shut down when the next one starts,
+  // there's no reason to populate it for every test when all our operations are read-only
+  private static synchronized DatastoreService getDatastoreService(DatastoreType datastoreType) throws Exception {
+    if (datastoreType == currentType) {
+      return currentService;
+    }
+    tearDown();
     mockScheduledExecutorService = Mockito.mock(ScheduledExecutorService.class);
     locator  = ServiceLocatorUtilities.bind(
-      new io.jenkins.plugins.datastore.Binder(),
-      new io.jenkins.plugins.services.Binder(),
+      new io.jenkins.plugins.datastore.Binder(datastoreType),
+      new io.jenkins.plugins.services.Binder(datastoreType),
       new AbstractBinder() {
       @Override
       protected void configure() {
         bind(mockScheduledExecutorService.getClass()).to(ScheduledExecutorService.class).in(Singleton.class);
       }
     });
-    datastoreService = locator.getService(DatastoreService.class);
+    currentType = datastoreType;
+    currentService = locator.getService(DatastoreService.class);
     locator.getService(PrepareDatastoreService.class).populateDataStore();
+    return currentService;
   }
 
   @AfterClass
   public static void tearDown() throws Exception {
-    locator.shutdown();
+    if (locator != null) {
+      locator.shutdown();
+      locator = null;
+      currentType = null;
+      currentService = null;
+    }
   }
 
   @Test
@@ -58,6 +95,15 @@ public class DatastoreServiceIntegrationTest {
     Assert.assertTrue("Scm link is blank", StringUtils.isNotBlank(plugin.getScm().getLink()));
   }
 
+  @Test
+  public void testGetPluginIsolatedFromSnapshot() {
+    final Plugin plugin = datastoreService.getPlugin("git");
+    Assert.assertNotNull("Git plugin not found", plugin);
+    Assert.assertNotNull("Wiki is null", plugin.getWiki());
+    plugin.getWiki().setContent("<div>content</div>");
+    Assert.assertNull("Wiki content leaked into snapshot", datastoreService.getPlugin("git").getWiki().getContent());
+  }
+
   @Test
   public void testGetPluginUTF8() {
     final Plugin plugin = datastoreService.getPlugin("resource-disposer");
@@ -150,6 +196,32 @@ public class DatastoreServiceIntegrationTest {
     Assert.assertTrue("SortBy.UPDATED not correct", plugins.getPlugins().get(0).getReleaseTimestamp().isAfter(plugins.getPlugins().get(1).getReleaseTimestamp()));
   }
 
+  @Test
+  public void testSearchRawFields() throws IOException {
+    final RawPlugins plugins = datastoreService.searchRaw(new SearchOptions.Builder()
+      .withQuery("git")
+      .withSortBy(SortBy.NAME)
+      .withFields(new HashSet<>(Arrays.asList("maintainers.id", "stats.currentInstalls")))
+      .build());
+    Assert.assertTrue("Should return multiple results", plugins.getPlugins().size() > 1);
+    final List<JsonNode> sources = new ArrayList<>();
+    for (byte[] plugin : plugins.getPlugins()) {
+      final JsonNode source = JsonObjectMapper.getObjectMapper().readTree(plugin);
+      source.fieldNames().forEachRemaining(field ->
+        Assert.assertTrue("Unexpected field " + field, Arrays.asList("name", "maintainers", "stats").contains(field)));
+      source.path("maintainers").forEach(maintainer ->
+        maintainer.fieldNames().forEachRemaining(field -> Assert.assertEquals("Unexpected maintainer field", "id", field)));
+      source.path("stats").fieldNames().forEachRemaining(field ->
+        Assert.assertEquals("Unexpected stats field", "currentInstalls", field));
+      sources.add(source);
+    }
+    if (currentType == DatastoreType.ELASTICSEARCH) {
+      elasticsearchFilteredSources = sources;
+    } else if (elasticsearchFilteredSources != null) {
+      Assert.assertEquals("Sources differ from Elasticsearch", elasticsearchFilteredSources, sources);
+    }
+  }
+
   @Test
   public void testSearchCategories() {
     final Plugins plugins = datastoreService.search(new SearchOptions.Builder().withCategories("scm").build());
@@ -0,0 +1,107 @@
+package io.jenkins.plugins.services;
+
+import io.jenkins.plugins.commons.StatsCodec;
+import io.jenkins.plugins.models.*;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+public class PluginStatsStoreTest {
+
+  private PluginStatsStore store;
+
+  @Before
+  public void setUp() {
+    final List<Installation> installations = new ArrayList<>();
+    final List<InstallationPercentage> installationsPercentage = new ArrayList<>();
+    // Timestamps 0, 10, 20, ..., 90
+    for (int i = 0; i < 10; i++) {
+      installations.add(new Installation(i * 10L, 100 + i));
+      installationsPercentage.add(new InstallationPercentage(i * 10L, i / 10.0));
+    }
+    final Map<String, byte[]> stats = new HashMap<>();
+    stats.put("git", StatsCodec.encode(new Stats(installations, installationsPercentage,
+      Collections.singletonList(new InstallationVersion("1.0", 5)), null, 109, 1)));
+    stats.put("ant", StatsCodec.encode(new Stats(null, null, null, null, 3, 0)));
+    store = new PluginStatsStore();
+    store.set(stats);
+  }
+
+  private static List<Long> timestamps(Stats stats) {
+    return stats.getInstallations().stream().map(Installation::getTimestamp).collect(Collectors.toList());
+  }
+
+  private static List<Long> percentageTimestamps(Stats stats) {
+    return stats.getInstallationsPercentage().stream().map(InstallationPercentage::getTimestamp).collect(Collectors.toList());
+  }
+
+  @Test
+  public void testUnknownPlugin() {
+    Assert.assertNull(store.get("unknown", null, null, 0));
+  }
+
+  @Test
+  public void testEverything() {
+    final Stats stats = store.get("git", null, null, 0);
+    Assert.assertEquals(10, stats.getInstallations().size());
+    Assert.assertEquals(10, stats.getInstallationsPercentage().size());
+    Assert.assertEquals(109, stats.getCurrentInstalls());
+    Assert.assertEquals("1.0", stats.getInstallationsPerVersion().get(0).getVersion());
+  }
+
+  @Test
+  public void testMissingSeries() {
+    final Stats stats = store.get("ant", 10L, 20L, 1);
+    Assert.assertEquals(3, stats.getCurrentInstalls());
+    Assert.assertNull(stats.getInstallations());
+    Assert.assertNull(stats.getInstallationsPercentage());
+  }
+
+  @Test
+  public void testRangeInclusive() {
+    final Stats stats = store.get("git", 20L, 50L, 0);
+    Assert.assertEquals(Arrays.asList(20L, 30L, 40L, 50L), timestamps(stats));
+    Assert.assertEquals(Arrays.asList(20L, 30L, 40L, 50L), percentageTimestamps(stats));
+  }
+
+  @Test
+  public void testRangeOpenEnded() {
+    Assert.assertEquals(Arrays.asList(80L, 90L), timestamps(store.get("git", 75L, null, 0)));
+    Assert.assertEquals(Arrays.asList(0L, 10L), timestamps(store.get("git", null, 15L, 0)));
+    Assert.assertEquals(Collections.singletonList(90L), timestamps(store.get("git", 90L, Long.MAX_VALUE, 0)));
+  }
+
+  @Test
+  public void testRangeEmpty() {
+    Assert.assertTrue(store.get("git", 91L, null, 0).getInstallations().isEmpty());
+    Assert.assertTrue(store.get("git", 50L, 40L, 0).getInstallations().isEmpty());
+    Assert.assertTrue(store.get("git", 91L, null, 3).getInstallations().isEmpty());
+  }
+
+  @Test
+  public void testDownsample() {
+    Assert.assertEquals(Arrays.asList(0L, 30L, 60L, 90L), timestamps(store.get("git", null, null, 4)));
+    Assert.assertEquals(Arrays.asList(0L, 90L), timestamps(store.get("git", null, null, 2)));
+    Assert.assertEquals(Arrays.asList(0L, 30L, 60L, 90L), percentageTimestamps(store.get("git", null, null, 4)));
+  }
+
+  @Test
+  public void testDownsampleEdgeCases() {
+    // A single point is the latest one
+    Assert.assertEquals(Collections.singletonList(90L), timestamps(store.get("git", null, null, 1)));
+    // No more points than there are
+    Assert.assertEquals(10, store.get("git", null, null, 10).getInstallations().size());
+    Assert.assertEquals(10, store.get("git", null, null, 1000).getInstallations().size());
+    // Zero or less keeps every point
+    Assert.assertEquals(10, store.get("git", null, null, -1).getInstallations().size());
+  }
+
+  @Test
+  public void testDownsampleWithinRange() {
+    Assert.assertEquals(Arrays.asList(20L, 50L, 80L), timestamps(store.get("git", 20L, 80L, 3)));
+  }
+
+}
@@ -11,6 +11,7 @@ import org.hamcrest.CoreMatchers;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -21,14 +22,22 @@ import java.nio.charset.StandardCharsets;
 
 public class WikiServiceTest {
 
+  private HttpClientPool httpClientPool;
   private HttpClientWikiService wikiService;
 
   @Before
   public void setUp() {
-    wikiService = new HttpClientWikiService();
+    httpClientPool = new HttpClientPool();
+    wikiService = new HttpClientWikiService(httpClientPool, new PrerenderedWikiContent());
     wikiService.postConstruct();
   }
 
+  @After
+  public void tearDown() {
+    wikiService.preDestroy();
+    httpClientPool.close();
+  }
+
   @Test
   public void testGetWikiContentConfluence() {
     final String url = "https://wiki.jenkins.io/display/JENKINS/Git+Plugin";
@@ -0,0 +1,122 @@
+package io.jenkins.plugins.services.impl;
+
+import io.jenkins.plugins.commons.JsonObjectMapper;
+import io.jenkins.plugins.datastore.ColumnarPluginIndex;
+import io.jenkins.plugins.datastore.PluginSnapshot;
+import io.jenkins.plugins.models.*;
+import io.jenkins.plugins.services.SearchOptions;
+import io.jenkins.plugins.services.SortBy;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+public class MemoryDatastoreServiceTest {
+
+  private static MemoryDatastoreService datastoreService;
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    final List<Plugin> plugins = Arrays.asList(
+      plugin("alpha", "Alpha Git", "Works with git", 100L, 10L, LocalDateTime.of(2017, 1, 1, 0, 0), "scm"),
+      plugin("beta", "Beta", "git integration", 300L, -5L, LocalDateTime.of(2017, 1, 1, 0, 0), "scm"),
+      plugin("gamma", "Gamma", "Nothing to see", null, null, null, "misc"),
+      plugin("git", "Git", "The git plugin", 200L, 20L, LocalDateTime.of(2016, 1, 1, 0, 0), "scm")
+    );
+    plugins.get(3).setWiki(new Wiki(null, "https://wiki.jenkins-ci.org/display/JENKINS/Git+Plugin"));
+    final List<byte[]> sources = new ArrayList<>();
+    for (Plugin plugin : plugins) {
+      sources.add(JsonObjectMapper.getObjectMapper().writeValueAsBytes(plugin));
+    }
+    final Map<String, Plugin> byName = plugins.stream().collect(Collectors.toMap(Plugin::getName, plugin -> plugin));
+    final PluginSnapshot snapshot = new PluginSnapshot(LocalDateTime.now(), byName, Collections.emptyMap());
+    datastoreService = new MemoryDatastoreService(new ColumnarPluginIndex(plugins, sources), snapshot);
+  }
+
+  private static Plugin plugin(String name, String title, String excerpt, Long installs, Long trend,
+                               LocalDateTime firstRelease, String category) {
+    final Plugin plugin = new Plugin();
+    plugin.setName(name);
+    plugin.setTitle(title);
+    plugin.setExcerpt(excerpt);
+    plugin.setFirstRelease(firstRelease);
+    plugin.setCategories(Collections.singleton(category));
+    plugin.setLabels(Collections.emptySet());
+    plugin.setMaintainers(Collections.singletonList(new Maintainer(name + "-maintainer", "Jane Doe", null)));
+    if (installs != null) {
+      plugin.setStats(new Stats(null, null, null, null, installs, trend));
+    }
+    return plugin;
+  }
+
+  private static List<String> names(Plugins plugins) {
+    return plugins.getPlugins().stream().map(Plugin::getName).collect(Collectors.toList());
+  }
+
+  @Test
+  public void testRelevance() throws Exception {
+    // git matches on title, name and excerpt, alpha on title and excerpt, beta only on excerpt
+    final Plugins plugins = datastoreService.search(new SearchOptions.Builder().withQuery("git").build());
+    Assert.assertEquals(Arrays.asList("git", "alpha", "beta"), names(plugins));
+    Assert.assertEquals(3, plugins.getTotal());
+  }
+
+  @Test
+  public void testRelevancePaging() throws Exception {
+    final Plugins plugins = datastoreService.search(new SearchOptions.Builder().withQuery("git").withLimit(2).withPage(2).build());
+    Assert.assertEquals(Collections.singletonList("beta"), names(plugins));
+    Assert.assertEquals(2, plugins.getPages());
+  }
+
+  @Test
+  public void testPagingByName() throws Exception {
+    final List<String> names = new ArrayList<>();
+    for (int page = 1; page <= 2; page++) {
+      final Plugins plugins = datastoreService.search(new SearchOptions.Builder()
+        .withSortBy(SortBy.NAME).withLimit(3).withPage(page).build());
+      Assert.assertEquals(2, plugins.getPages());
+      names.addAll(names(plugins));
+    }
+    Assert.assertEquals(Arrays.asList("alpha", "beta", "gamma", "git"), names);
+  }
+
+  @Test
+  public void testPagingByInstallsWithFilter() throws Exception {
+    final SearchOptions.Builder builder = new SearchOptions.Builder()
+      .withSortBy(SortBy.INSTALLED).withCategories("scm").withLimit(1);
+    Assert.assertEquals(Collections.singletonList("beta"), names(datastoreService.search(builder.withPage(1).build())));
+    Assert.assertEquals(Collections.singletonList("git"), names(datastoreService.search(builder.withPage(2).build())));
+    Assert.assertEquals(Collections.singletonList("alpha"), names(datastoreService.search(builder.withPage(3).build())));
+    Assert.assertTrue(datastoreService.search(builder.withPage(4).build()).getPlugins().isEmpty());
+  }
+
+  @Test
+  public void testFirstReleaseTieBreak() throws Exception {
+    // alpha and beta were first released together, beta has more installs
+    final Plugins plugins = datastoreService.search(new SearchOptions.Builder().withSortBy(SortBy.FIRST_RELEASE).build());
+    Assert.assertEquals(Arrays.asList("beta", "alpha", "git", "gamma"), names(plugins));
+  }
+
+  @Test
+  public void testMissingValuesLast() throws Exception {
+    Assert.assertEquals(Arrays.asList("beta", "git", "alpha", "gamma"),
+      names(datastoreService.search(new SearchOptions.Builder().withSortBy(SortBy.INSTALLED).build())));
+    Assert.assertEquals(Arrays.asList("git", "alpha", "beta", "gamma"),
+      names(datastoreService.search(new SearchOptions.Builder().withSortBy(SortBy.TREND).build())));
+  }
+
+  @Test
+  public void testSearchIsolatedFromIndex() throws Exception {
+    final Plugin plugin = datastoreService.search(new SearchOptions.Builder().withQuery("git").build()).getPlugins().get(0);
+    Assert.assertEquals("git", plugin.getName());
+    plugin.setTitle("Changed");
+    plugin.getWiki().setContent("<div>content</div>");
+    final Plugin again = datastoreService.search(new SearchOptions.Builder().withQuery("git").build()).getPlugins().get(0);
+    Assert.assertEquals("Git", again.getTitle());
+    Assert.assertNull("Wiki content leaked into index", again.getWiki().getContent());
+  }
+
+}
@@ -0,0 +1,106 @@
+package io.jenkins.plugins.services.impl;
+
+import org.apache.commons.io.FileUtils;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public class WikiContentCleanerTest {
+
+  private static final String HOST = ConfluenceDirectExtractor.BASE_URL;
+  private static final String PATH = "/display/JENKINS/";
+
+  private final WikiContentCleaner cleaner = new WikiContentCleaner(HOST, PATH, HOST, PATH, true);
+
+  @Test
+  public void testMatchesLegacyCleanup() throws IOException {
+    final String content = FileUtils.readFileToString(new File("src/test/resources/wiki_content.html"), StandardCharsets.UTF_8);
+    final Element wikiContent = Jsoup.parse(content).getElementsByClass("wiki-content").first();
+    cleaner.clean(wikiContent);
+    Assert.assertEquals(legacyClean(Jsoup.parse(content).getElementsByClass("wiki-content").first()), wikiContent.html());
+  }
+
+  @Test
+  public void testRemovesPluginInformation() {
+    assertPluginInformationRemoved("<span class=\"conf-macro output-inline\"><table><tr><th><p>Plugin Information</p></th></tr></table></span><p>Kept</p>");
+  }
+
+  @Test
+  public void testRemovesPluginInformationSplitAcrossTags() {
+    assertPluginInformationRemoved("<span class=\"conf-macro output-inline\"><table><tr><th><p><b>Plugin</b> Information</p></th></tr></table></span><p>Kept</p>");
+    assertPluginInformationRemoved("<div class=\"conf-macro output-inline\"><table><tr><th><div><span>Plugin</span>\n<em>information</em></div></th><td>1.0</td></tr></table></div><p>Kept</p>");
+  }
+
+  @Test
+  public void testRemovesOnlyFirstPluginInformation() {
+    final String table = "<span class=\"conf-macro output-inline\"><table><tr><th><p>Plugin Information</p></th></tr></table></span>";
+    final Element content = assertCleaned(table + "<p>Kept</p>" + table);
+    Assert.assertEquals(1, content.getElementsByTag("table").size());
+  }
+
+  @Test
+  public void testKeepsPluginInformationOutsideMacro() {
+    final Element content = assertCleaned("<table><tr><th><p>Plugin Information</p></th></tr></table><p>Kept</p>");
+    Assert.assertEquals(1, content.getElementsByTag("table").size());
+    assertCleaned("<span class=\"conf-macro output-inline\"><table><tr><td><p>Plugin Information</p></td></tr></table></span><p>Kept</p>");
+  }
+
+  @Test
+  public void testRemovesTableOfContents() {
+    final Element content = assertCleaned("<div class=\"toc\"><ul><li><a href=\"#Usage\">Usage</a></li></ul></div><h2 id=\"Usage\">Usage</h2>");
+    Assert.assertTrue(content.getElementsByClass("toc").isEmpty());
+  }
+
+  @Test
+  public void testLinksMadeAbsolute() {
+    final Element content = assertCleaned("<p><a href=\"/x/abc\">a</a><a href=\"Git+Plugin\">b</a><a href=\"#top\">c</a><img src=\"/download/image.png\"/></p>");
+    Assert.assertEquals(HOST + "/x/abc", content.getElementsByTag("a").get(0).attr("href"));
+    Assert.assertEquals(HOST + PATH + "Git+Plugin", content.getElementsByTag("a").get(1).attr("href"));
+    Assert.assertEquals("#top", content.getElementsByTag("a").get(2).attr("href"));
+    Assert.assertEquals(HOST + "/download/image.png", content.getElementsByTag("img").get(0).attr("src"));
+  }
+
+  private void assertPluginInformationRemoved(String html) {
+    final Element content = assertCleaned(html);
+    Assert.assertTrue("Plugin Information table not removed", content.getElementsByTag("table").isEmpty());
+    Assert.assertEquals("Kept", content.text());
+  }
+
+  /**
+   * <p>Cleans <code>html</code> and checks the result is the same as the legacy cleanup's</p>
+   *
+   * @return cleaned content
+   */
+  private Element assertCleaned(String html) {
+    final Element content = Jsoup.parseBodyFragment(html).body();
+    cleaner.clean(content);
+    Assert.assertEquals(legacyClean(Jsoup.parseBodyFragment(html).body()), content.html());
+    return content;
+  }
+
+  /**
+   * <p>Cleanup as it was done before <code>WikiContentCleaner</code>, a selector query per kind of element to remove
+   * and a scan of the tree per attribute</p>
+   */
+  private static String legacyClean(Element wikiContent) {
+    final Element topPluginInformation = wikiContent
+      .select(".conf-macro.output-inline th :contains(Plugin Information)").first();
+    if (topPluginInformation != null) {
+      Element element = topPluginInformation;
+      while (!element.tagName().equals("table")) {
+        element = element.parent();
+      }
+      element.remove();
+    }
+    wikiContent.getElementsByClass("toc").remove();
+    wikiContent.getElementsByAttribute("href").forEach(element -> WikiContentCleaner.replaceAttribute(element, "href", HOST, PATH));
+    wikiContent.getElementsByAttribute("src").forEach(element -> WikiContentCleaner.replaceAttribute(element, "src", HOST, PATH));
+    return wikiContent.html();
+  }
+
+}
@@ -0,0 +1,51 @@
+package io.jenkins.plugins.web;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class GzipWriterInterceptorTest {
+
+  @BeforeClass
+  public static void checkEnabled() {
+    Assume.assumeTrue("Compression is disabled", GzipWriterInterceptor.COMPRESS_RESPONSES);
+  }
+
+  @Test
+  public void testAcceptsGzip() {
+    Assert.assertTrue(GzipWriterInterceptor.acceptsGzip("gzip"));
+    Assert.assertTrue(GzipWriterInterceptor.acceptsGzip("GZIP"));
+    Assert.assertTrue(GzipWriterInterceptor.acceptsGzip("deflate, gzip;q=0.5"));
+    Assert.assertTrue(GzipWriterInterceptor.acceptsGzip("gzip; q = 0.8"));
+    Assert.assertTrue(GzipWriterInterceptor.acceptsGzip("*"));
+  }
+
+  @Test
+  public void testRejectsGzip() {
+    Assert.assertFalse(GzipWriterInterceptor.acceptsGzip(null));
+    Assert.assertFalse(GzipWriterInterceptor.acceptsGzip(""));
+    Assert.assertFalse(GzipWriterInterceptor.acceptsGzip("identity"));
+    Assert.assertFalse(GzipWriterInterceptor.acceptsGzip("deflate, br"));
+    Assert.assertFalse(GzipWriterInterceptor.acceptsGzip("gzip;q=0"));
+    Assert.assertFalse(GzipWriterInterceptor.acceptsGzip("gzip;q=0.000"));
+    Assert.assertFalse(GzipWriterInterceptor.acceptsGzip("*;q=0"));
+  }
+
+  @Test
+  public void testExplicitGzipOverridesWildcard() {
+    Assert.assertTrue(GzipWriterInterceptor.acceptsGzip("*;q=0, gzip"));
+    Assert.assertTrue(GzipWriterInterceptor.acceptsGzip("gzip;q=0.1, *;q=0"));
+    Assert.assertFalse(GzipWriterInterceptor.acceptsGzip("*, gzip;q=0"));
+    Assert.assertFalse(GzipWriterInterceptor.acceptsGzip("gzip;q=0, *;q=1"));
+  }
+
+  @Test
+  public void testMalformedQuality() {
+    Assert.assertTrue(GzipWriterInterceptor.acceptsGzip("gzip;q=abc"));
+    Assert.assertTrue(GzipWriterInterceptor.acceptsGzip("gzip;q="));
+    Assert.assertTrue(GzipWriterInterceptor.acceptsGzip("*;q=x"));
+    Assert.assertTrue(GzipWriterInterceptor.acceptsGzip(",,gzip;;"));
+  }
+
+}
@@ -0,0 +1,95 @@
+package io.jenkins.plugins.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jenkins.plugins.commons.JsonObjectMapper;
+import io.jenkins.plugins.datastore.ElasticsearchTransformer;
+import io.jenkins.plugins.models.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+public class RawPluginMessageBodyWriterTest {
+
+  private final ObjectMapper mapper = JsonObjectMapper.getObjectMapper();
+  private final RawPluginMessageBodyWriter writer = new RawPluginMessageBodyWriter();
+
+  static Plugin createPlugin(String name, Wiki wiki) {
+    final Plugin plugin = new Plugin();
+    plugin.setName(name);
+    plugin.setTitle(name.toUpperCase());
+    plugin.setCategories(Collections.singleton("scm"));
+    plugin.setMaintainers(Collections.singletonList(new Maintainer("jdoe", "Jane Doe", null)));
+    plugin.setReleaseTimestamp(LocalDateTime.of(2017, 7, 4, 12, 0));
+    plugin.setStats(new Stats(null, null, null, null, 1000, 10));
+    plugin.setWiki(wiki);
+    return plugin;
+  }
+
+  private String write(RawPlugin rawPlugin) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    writer.writeTo(rawPlugin, RawPlugin.class, RawPlugin.class, null, null, null, bytes);
+    return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  /**
+   * <p>Stores <code>plugin</code> the way it's indexed, fills in the wiki content and checks the raw writer gives the
+   * same JSON as Jackson for the plugin with that content</p>
+   */
+  private void assertSameAsJackson(Plugin plugin, String wikiContent) throws IOException {
+    final RawPlugin stored = ElasticsearchTransformer.transformRaw(mapper.writeValueAsBytes(plugin));
+    final RawPlugin rawPlugin = stored.getWiki() != null
+      ? new RawPlugin(stored.getJson(), new Wiki(wikiContent, stored.getWiki().getUrl()))
+      : stored;
+    final Plugin expected = new Plugin(plugin);
+    if (expected.getWiki() != null) {
+      expected.getWiki().setContent(wikiContent);
+    }
+    Assert.assertEquals(mapper.readTree(mapper.writeValueAsBytes(expected)), mapper.readTree(write(rawPlugin)));
+  }
+
+  @Test
+  public void testPluginWithWiki() throws IOException {
+    assertSameAsJackson(createPlugin("git", new Wiki(null, "https://wiki.jenkins.io/display/JENKINS/Git+Plugin")), "<p>Git</p>");
+  }
+
+  @Test
+  public void testPluginWithoutWiki() throws IOException {
+    assertSameAsJackson(createPlugin("git", null), null);
+  }
+
+  @Test
+  public void testEmptyPlugin() throws IOException {
+    assertSameAsJackson(new Plugin(), null);
+    final Plugin plugin = new Plugin();
+    plugin.setWiki(new Wiki(null, "https://wiki.jenkins.io/display/JENKINS/Empty"));
+    assertSameAsJackson(plugin, "<p>Empty</p>");
+  }
+
+  @Test
+  public void testEmptyObject() throws IOException {
+    final Wiki wiki = new Wiki("<p>content</p>", "https://wiki.jenkins.io/display/JENKINS/Empty");
+    Assert.assertEquals(mapper.readTree("{\"wiki\":" + mapper.writeValueAsString(wiki) + "}"),
+      mapper.readTree(write(new RawPlugin("{}".getBytes(StandardCharsets.UTF_8), wiki))));
+    Assert.assertEquals(mapper.readTree("{\"wiki\":null}"),
+      mapper.readTree(write(new RawPlugin(" {\n}\n".getBytes(StandardCharsets.UTF_8), null))));
+  }
+
+  @Test
+  public void testPrettyPrintedJson() throws IOException {
+    final Wiki wiki = new Wiki("<p>content</p>", "https://wiki.jenkins.io/display/JENKINS/Git+Plugin");
+    final byte[] json = "{\n  \"name\" : \"git\"\n}\n".getBytes(StandardCharsets.UTF_8);
+    Assert.assertEquals(mapper.readTree("{\"name\":\"git\",\"wiki\":" + mapper.writeValueAsString(wiki) + "}"),
+      mapper.readTree(write(new RawPlugin(json, wiki))));
+  }
+
+  @Test(expected = IOException.class)
+  public void testNotAnObject() throws IOException {
+    write(new RawPlugin("[]".getBytes(StandardCharsets.UTF_8), null));
+  }
+
+}
@@ -0,0 +1,57 @@
+package io.jenkins.plugins.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jenkins.plugins.commons.JsonObjectMapper;
+import io.jenkins.plugins.models.Plugin;
+import io.jenkins.plugins.models.Plugins;
+import io.jenkins.plugins.models.RawPlugins;
+import io.jenkins.plugins.models.Wiki;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class RawPluginsMessageBodyWriterTest {
+
+  private final ObjectMapper mapper = JsonObjectMapper.getObjectMapper();
+  private final RawPluginsMessageBodyWriter writer = new RawPluginsMessageBodyWriter();
+
+  /**
+   * <p>Checks the raw writer gives the same JSON as Jackson when every plugin is stored as Jackson serializes it</p>
+   */
+  private void assertSameAsJackson(Plugins plugins) throws IOException {
+    final List<byte[]> sources = new ArrayList<>();
+    for (Plugin plugin : plugins.getPlugins()) {
+      sources.add(mapper.writeValueAsBytes(plugin));
+    }
+    final RawPlugins rawPlugins = new RawPlugins(sources, plugins.getPage(), plugins.getPages(), plugins.getTotal(), plugins.getLimit());
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    writer.writeTo(rawPlugins, RawPlugins.class, RawPlugins.class, null, null, null, bytes);
+    Assert.assertEquals(mapper.readTree(mapper.writeValueAsBytes(plugins)), mapper.readTree(bytes.toByteArray()));
+  }
+
+  @Test
+  public void testPlugins() throws IOException {
+    assertSameAsJackson(new Plugins(Arrays.asList(
+      RawPluginMessageBodyWriterTest.createPlugin("git", new Wiki(null, "https://wiki.jenkins.io/display/JENKINS/Git+Plugin")),
+      RawPluginMessageBodyWriterTest.createPlugin("ant", null),
+      new Plugin()
+    ), 2, 5, 203, 3));
+  }
+
+  @Test
+  public void testSinglePlugin() throws IOException {
+    assertSameAsJackson(new Plugins(Collections.singletonList(RawPluginMessageBodyWriterTest.createPlugin("git", null)), 1, 1, 1, 50));
+  }
+
+  @Test
+  public void testNoPlugins() throws IOException {
+    assertSameAsJackson(new Plugins(Collections.emptyList(), 1, 0, 0, 50));
+  }
+
+}